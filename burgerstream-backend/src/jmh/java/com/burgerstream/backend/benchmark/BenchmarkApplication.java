@@ -0,0 +1,41 @@
+package com.burgerstream.backend.benchmark;
+
+import com.burgerstream.backend.BurgerstreamBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts the application without a web server on an in-memory H2 database seeded by DataInitializer (seed profile).
+// The settings are passed as arguments so they win over the test application.properties on the classpath, extra
+// arguments replace the default with the same key.
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {}
+
+    static ConfigurableApplicationContext start(){
+        return start(true);
+    }
+
+    static ConfigurableApplicationContext start(boolean seed, String... extraArgs){
+        List<String> args = new ArrayList<>(List.of("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.profiles.active=" + (seed ? "seed" : "default"),
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.devtools.restart.enabled=false",
+                "--burgerstream.orders.ingest.enabled=false",
+                "--logging.level.root=WARN"));
+        for (String extraArg : extraArgs){
+            String key = extraArg.substring(0, extraArg.indexOf('=') + 1);
+            args.removeIf(arg -> arg.startsWith(key));
+            args.add(extraArg);
+        }
+        return new SpringApplicationBuilder(BurgerstreamBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+}
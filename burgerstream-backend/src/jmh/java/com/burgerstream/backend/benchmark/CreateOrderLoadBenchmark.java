@@ -0,0 +1,75 @@
+package com.burgerstream.backend.benchmark;
+
+import com.burgerstream.backend.BurgerstreamBackendApplication;
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// Load test of POST /orders over HTTP with many concurrent clients, once on the Tomcat platform-thread pool and once
+// on virtual threads. Both runs get the same connection pool, Tomcat's pool is kept small so it is the bottleneck
+// the virtual-thread mode is meant to remove. Compare the two scores in the JSON results.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class CreateOrderLoadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest createOrder;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        context = new SpringApplicationBuilder(BurgerstreamBackendApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=32",
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.profiles.active=seed",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--burgerstream.orders.ingest.enabled=false",
+                        "--logging.level.root=WARN");
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        Burger burger = context.getBean(MenuSnapshotCache.class).current().getBurgers().getFirst();
+
+        httpClient = HttpClient.newHttpClient();
+        createOrder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/BurgerStream/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"customerName":"John Doe","customerEmail":"John@Doe.com",
+                         "orderItems":[{"menuItemId":%d,"amount":2}]}""".formatted(burger.getId())))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        context.close();
+    }
+
+    @Benchmark
+    public int createOrder() throws IOException, InterruptedException {
+        return httpClient.send(createOrder, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,67 @@
+package com.burgerstream.backend.benchmark;
+
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.service.menu.MenuSnapshot;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.PricingEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson output of the graphs the API returns, using the ObjectMapper Spring Boot configures for the controllers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<MenuItem> menuItems;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        context = BenchmarkApplication.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        MenuSnapshot menu = context.getBean(MenuSnapshotCache.class).current();
+        menuItems = menu.getMenuItems();
+
+        // One line per menu item, priced the same way createOrder does but never saved.
+        order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        for (MenuItem menuItem : menuItems){
+            OrderItem item = new OrderItem();
+            item.setMenuItemId(menuItem.getId());
+            item.setAmount(1);
+            item.setOrder(order);
+            order.getOrderItems().add(item);
+        }
+        context.getBean(PricingEngine.class).price(order);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        context.close();
+    }
+
+    @Benchmark
+    public String serializeMenu() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(menuItems);
+    }
+
+    @Benchmark
+    public String serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(order);
+    }
+}
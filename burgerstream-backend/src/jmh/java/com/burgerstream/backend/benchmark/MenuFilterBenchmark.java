@@ -0,0 +1,57 @@
+package com.burgerstream.backend.benchmark;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.service.menu.BurgerService;
+import com.burgerstream.backend.service.menu.DrinkService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The flag filters behind GET /menu/burgers and /menu/drinks.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuFilterBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private BurgerService burgerService;
+    private DrinkService drinkService;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        context = BenchmarkApplication.start();
+        burgerService = context.getBean(BurgerService.class);
+        drinkService = context.getBean(DrinkService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        context.close();
+    }
+
+    @Benchmark
+    public List<Burger> allBurgers(){
+        return burgerService.getFilteredBurgers(null, null, null);
+    }
+
+    @Benchmark
+    public List<Burger> veganLactoseFreeBurgers(){
+        return burgerService.getFilteredBurgers(true, null, true);
+    }
+
+    @Benchmark
+    public List<Drink> allDrinks(){
+        return drinkService.getFilteredDrinks(null, null);
+    }
+
+    @Benchmark
+    public List<Drink> carbonatedDrinks(){
+        return drinkService.getFilteredDrinks(true, null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.burgerstream.backend.benchmark;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.OrderService;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Orders with 10 items per second through createOrder, with the order ids mapped back to IDENTITY and no JDBC
+// batching (one insert round trip per row) and with the pooled sequences and batched inserts. The database is an H2
+// TCP server on localhost, so every statement is a round trip as it would be to MySQL.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 10;
+
+    @Param({"identity", "pooled"})
+    private String ids;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private List<Long> burgerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "--spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:inserts;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        context = "identity".equals(ids)
+                ? BenchmarkApplication.start(true, url,
+                        "--spring.jpa.mapping-resources=benchmark/identity-ids.xml",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=0")
+                : BenchmarkApplication.start(true, url, "--spring.jpa.properties.hibernate.jdbc.batch_size=50");
+        orderService = context.getBean(OrderService.class);
+        burgerIds = context.getBean(MenuSnapshotCache.class).current().getBurgers().stream()
+                .map(Burger::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        context.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public Order createOrder(){
+        Order order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        for (int i = 0; i < ITEMS_PER_ORDER; i++){
+            OrderItem item = new OrderItem();
+            item.setMenuItemId(burgerIds.get(i % burgerIds.size()));
+            item.setAmount(1);
+            order.getOrderItems().add(item);
+        }
+        return orderService.createOrder(order);
+    }
+}
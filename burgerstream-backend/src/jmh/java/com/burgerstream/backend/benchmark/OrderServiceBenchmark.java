@@ -0,0 +1,68 @@
+package com.burgerstream.backend.benchmark;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.service.menu.MenuSnapshot;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Full createOrder path: validation, pricing from the menu snapshot and the batched insert into H2.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private long burgerId;
+    private long drinkId;
+    private long drinkSizeId;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderService.class);
+
+        MenuSnapshot menu = context.getBean(MenuSnapshotCache.class).current();
+        Burger burger = menu.getBurgers().getFirst();
+        Drink drink = menu.getDrinks().stream()
+                .filter(candidate -> !candidate.getSizeOptions().isEmpty())
+                .findFirst()
+                .orElseThrow();
+        burgerId = burger.getId();
+        drinkId = drink.getId();
+        drinkSizeId = drink.getSizeOptions().iterator().next().getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder(){
+        Order order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        order.getOrderItems().add(item(burgerId, null, 2));
+        order.getOrderItems().add(item(drinkId, drinkSizeId, 1));
+        return orderService.createOrder(order);
+    }
+
+    private OrderItem item(long menuItemId, Long sizeOptionId, int amount){
+        OrderItem item = new OrderItem();
+        item.setMenuItemId(menuItemId);
+        item.setSizeOptionId(sizeOptionId);
+        item.setAmount(amount);
+        return item;
+    }
+}
@@ -0,0 +1,60 @@
+package com.burgerstream.backend.benchmark;
+
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Running total kept by Order.addOrderItem/removeOrderItem, both scan the items for a duplicate id on every call.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int itemCount;
+
+    private List<OrderItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++){
+            OrderItem item = new OrderItem();
+            item.setId((long) i + 1);
+            item.setAmount(1);
+            item.setItemEndPrice(BigDecimal.valueOf(25 + i % 50, 2));
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal addOrderItems(){
+        Order order = new Order();
+        order.setOrderEndPrice(BigDecimal.ZERO);
+        for (OrderItem item : items){
+            order.addOrderItem(item);
+        }
+        return order.getOrderEndPrice();
+    }
+
+    @Benchmark
+    public BigDecimal addThenRemoveOrderItems(){
+        Order order = new Order();
+        order.setOrderEndPrice(BigDecimal.ZERO);
+        for (OrderItem item : items){
+            order.addOrderItem(item);
+        }
+        for (OrderItem item : items){
+            order.removeOrderItem(item);
+        }
+        return order.getOrderEndPrice();
+    }
+}
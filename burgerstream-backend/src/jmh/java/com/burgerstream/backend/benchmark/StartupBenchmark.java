@@ -0,0 +1,34 @@
+package com.burgerstream.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Time from a cold JVM to a started application, with and without the seed profile. Every fork starts once, so the
+// score is the startup a deployment sees rather than that of a warmed-up JIT. The H2 schema comes from the entities
+// here, against MySQL the migrations run instead, check application.ready.time on /actuator/prometheus there.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({"false", "true"})
+    private boolean seed;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Iteration)
+    public void tearDown(){
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start(){
+        context = BenchmarkApplication.start(seed);
+        return context;
+    }
+}
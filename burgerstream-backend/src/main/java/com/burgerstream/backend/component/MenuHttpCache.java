@@ -0,0 +1,79 @@
+package com.burgerstream.backend.component;
+
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Conditional GETs for the menu endpoints. The menu version is a strong ETag for any menu response, so a matching
+// If-None-Match gets a 304 before anything is serialized.
+@Component
+public class MenuHttpCache {
+
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final CacheControl cacheControl;
+    // The version starts over on every restart, the start time keeps an old ETag from matching a new menu.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public MenuHttpCache(MenuSnapshotCache menuSnapshotCache,
+                         @Value("${burgerstream.menu.cache.max-age-seconds:0}") long maxAgeSeconds){
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().mustRevalidate();
+    }
+
+    public String currentETag(){
+        return eTagOf(menuSnapshotCache.currentVersion(), null);
+    }
+
+    // Taken before the body is built, so a change in between costs an extra download, never a stale 304.
+    public <T> ResponseEntity<T> respond(WebRequest request, Supplier<T> body){
+        String eTag = currentETag();
+        if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), eTag)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(body.get());
+    }
+
+    // Precompiled bytes carry the version they were built from, the gzip representation gets its own ETag.
+    public ResponseEntity<byte[]> respond(WebRequest request, long version, String contentEncoding, byte[] body){
+        String eTag = eTagOf(version, contentEncoding);
+        if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), eTag)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length);
+        if (contentEncoding != null){
+            response.header(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        return response.body(body);
+    }
+
+    private String eTagOf(long version, String contentEncoding){
+        return "\"menu-" + epoch + "-" + version + (contentEncoding == null ? "" : "-" + contentEncoding) + "\"";
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ prefix added by a proxy still matches.
+    private static boolean matches(String[] ifNoneMatch, String eTag){
+        if (ifNoneMatch == null) return false;
+        for (String header : ifNoneMatch){
+            for (String candidate : header.split(",")){
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(eTag)) return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package com.burgerstream.backend.component;
+
+import com.burgerstream.backend.exception.MenuUpdateConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// Runs a read-modify-write of versioned menu rows in its own transaction and starts it over when another writer
+// committed the same row first. Each attempt reads the row again, so no update is silently lost and nothing is locked
+// while an admin edits.
+@Component
+public class OptimisticLockRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager,
+                               @Value("${burgerstream.menu.update.max-attempts:3}") int maxAttempts){
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T run(String description, Supplier<T> update){
+        // Inside a caller's transaction a conflict rolls back the whole transaction, a retry could not use it anymore.
+        if (TransactionSynchronizationManager.isActualTransactionActive()){
+            return update.get();
+        }
+
+        for (int attempt = 1; ; attempt++){
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts){
+                    throw new MenuUpdateConflictException(description + " kept being changed by someone else, try again");
+                }
+                log.debug("{} was changed concurrently, retrying (attempt {})", description, attempt + 1);
+            }
+        }
+    }
+
+    // A client that sends the version it read gets a conflict instead of overwriting a newer change,
+    // without a version the update applies to whatever is current.
+    public static void checkVersion(String description, Long expectedVersion, Long currentVersion){
+        if (expectedVersion != null && !Objects.equals(expectedVersion, currentVersion)){
+            throw new MenuUpdateConflictException(description + " was changed since version " + expectedVersion
+                    + ", it is now at version " + currentVersion);
+        }
+    }
+}
@@ -12,13 +12,20 @@ import com.burgerstream.backend.repository.menu.SizeOptionRepository;
 import com.burgerstream.backend.repository.menu.BurgerRepository;
 import com.burgerstream.backend.repository.order.OrderRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+// Demo menu and order, only with the seed profile so a normal start doesn't query the menu for it. Everything is
+// saved in one transaction and flushed once at commit, with the pooled ids and order_inserts each table gets a single
+// batched insert.
 @Component
+@Profile("seed")
 public class DataInitializer implements CommandLineRunner {
 
     private final SizeOptionRepository sizeOptionRepository;
@@ -26,21 +33,28 @@ public class DataInitializer implements CommandLineRunner {
     private final SideRepository sideRepository;
     private final DrinkRepository drinkRepository;
     private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
 
     public DataInitializer(SizeOptionRepository sizeOptionRepository,
                            BurgerRepository burgerRepository,
                            SideRepository sideRepository,
                            DrinkRepository drinkRepository,
-                           OrderRepository orderRepository) {
+                           OrderRepository orderRepository,
+                           PlatformTransactionManager transactionManager) {
         this.sizeOptionRepository = sizeOptionRepository;
         this.burgerRepository = burgerRepository;
         this.sideRepository = sideRepository;
         this.drinkRepository = drinkRepository;
         this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public void run(String... args) throws Exception {
+        transactionTemplate.executeWithoutResult(status -> seed());
+    }
+
+    private void seed(){
         if (burgerRepository.count() > 0){
             return;
         }
@@ -0,0 +1,93 @@
+package com.burgerstream.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read replicas (burgerstream.datasource.replica.urls=url1,url2): read-only transactions are served by the replicas,
+// writes and reads inside a writing transaction stay on the primary. Each replica gets its own small pool with the
+// primary's credentials unless replica ones are configured.
+@Configuration
+@ConditionalOnProperty(name = "burgerstream.datasource.replica.urls")
+public class ReadReplicaConfig {
+
+    public static final int ROUTING_ORDER = 0;
+
+    @Bean
+    static BeanPostProcessor replicaRoutingPostProcessor(
+            @Value("${burgerstream.datasource.replica.urls}") List<String> urls,
+            @Value("${burgerstream.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${burgerstream.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${burgerstream.datasource.replica.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+            @Value("${burgerstream.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${burgerstream.datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${burgerstream.datasource.replica.check-interval-ms:2000}") long checkIntervalMillis){
+        return new ReplicaRoutingPostProcessor(urls, username, password, poolSize, lagQuery, maxLagSeconds, checkIntervalMillis);
+    }
+
+    @Bean
+    MeterBinder readReplicaMetrics(DataSource dataSource){
+        return registry -> {
+            try {
+                // The connection permits of virtual-thread mode may wrap the routing data source.
+                if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)){
+                    ReplicaRoutingDataSource routingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+                    Gauge.builder("burgerstream.datasource.replicas.healthy", routingDataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                            .register(registry);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not look up the read replica data source", e);
+            }
+        };
+    }
+
+    private static HikariDataSource replicaPool(int index, String url, String username, String password, int poolSize){
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica-" + index);
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setMaximumPoolSize(poolSize);
+        replica.setReadOnly(true);
+        // Let the application start while a replica is down, the lag checks route around it.
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+
+    // Wraps the primary pool before anything else wraps the DataSource bean, see VirtualThreadConfig.PERMITS_ORDER.
+    private record ReplicaRoutingPostProcessor(List<String> urls, String username, String password, int poolSize,
+                                               String lagQuery, long maxLagSeconds, long checkIntervalMillis)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ReplicaRoutingDataSource) && "dataSource".equals(beanName)){
+                List<DataSource> replicas = new ArrayList<>();
+                for (int i = 0; i < urls.size(); i++){
+                    replicas.add(replicaPool(i, urls.get(i).trim(), username, password, poolSize));
+                }
+                ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(dataSource, replicas, lagQuery, maxLagSeconds);
+                routingDataSource.startLagChecks(Duration.ofMillis(checkIntervalMillis));
+                return routingDataSource;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return ROUTING_ORDER;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.burgerstream.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to the replicas and everything else to the primary; the connection is borrowed lazily,
+// once the transaction is marked read-only. Unreachable or lagging replicas are skipped until a later check passes.
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // MySQL reports the lag in this column of SHOW REPLICA STATUS, other lag queries return it in the first column.
+    private static final String MYSQL_LAG_COLUMN = "Seconds_Behind_Source";
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService lagChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, long maxLagSeconds){
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        setReadOnlyDataSource(new ReplicaSelector());
+    }
+
+    // Checks every replica once right away, then again every interval in the background.
+    public synchronized void startLagChecks(Duration interval){
+        checkReplicas();
+        if (lagChecks == null){
+            lagChecks = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+            lagChecks.scheduleWithFixedDelay(this::checkReplicas, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Serves the read-only transactions started by reads from the primary, for reads whose result is cached under a
+    // version a lagging replica may not have reached yet.
+    public static <T> T readFromPrimary(Supplier<T> reads){
+        boolean outermost = PRIMARY_READS.get() == null;
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (outermost) PRIMARY_READS.remove();
+        }
+    }
+
+    public void checkReplicas(){
+        for (int i = 0; i < replicas.size(); i++){
+            Replica replica = replicas.get(i);
+            boolean healthy = isHealthy(replica.dataSource);
+            if (healthy != replica.healthy){
+                log.info("Read replica {} is {}", i, healthy ? "healthy again, routing reads to it" : "unhealthy, routing its reads elsewhere");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int getHealthyReplicaCount(){
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (lagChecks != null){
+            lagChecks.shutdownNow();
+        }
+        for (Replica replica : replicas){
+            if (replica.dataSource instanceof AutoCloseable closeable) closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable) closeable.close();
+    }
+
+    private boolean isHealthy(DataSource dataSource){
+        try (Connection connection = dataSource.getConnection()) {
+            if (lagQuery == null){
+                return connection.isValid(1);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                // No row or a null lag means replication isn't running, the replica's data can't be trusted.
+                if (!resultSet.next()) return false;
+                long lag = resultSet.getLong(lagColumn(resultSet.getMetaData()));
+                return !resultSet.wasNull() && lag <= maxLagSeconds;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Read replica check failed", e);
+            return false;
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int column = 1; column <= metaData.getColumnCount(); column++){
+            if (MYSQL_LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(column))) return column;
+        }
+        return 1;
+    }
+
+    private Replica selectReplica(){
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++){
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) return replica;
+        }
+        return null;
+    }
+
+    private Connection readOnlyConnection(String username, String password) throws SQLException {
+        Replica replica = PRIMARY_READS.get() == null ? selectReplica() : null;
+        if (replica != null){
+            try {
+                return username == null ? replica.dataSource.getConnection() : replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                // Went away since the last check, the read still gets served by the primary.
+                log.warn("Read replica is unreachable, reading from the primary until it recovers", e);
+                replica.healthy = false;
+            }
+        }
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+
+    private static class Replica {
+
+        private final DataSource dataSource;
+        // Unhealthy until the first check, so nothing is read from a replica nobody has looked at yet.
+        private volatile boolean healthy;
+
+        private Replica(DataSource dataSource){
+            this.dataSource = dataSource;
+        }
+    }
+
+    private class ReplicaSelector extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection(null, null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return readOnlyConnection(username, password);
+        }
+    }
+}
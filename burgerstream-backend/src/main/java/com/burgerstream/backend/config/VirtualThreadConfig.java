@@ -0,0 +1,58 @@
+package com.burgerstream.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// Virtual-thread mode (spring.threads.virtual.enabled=true): Tomcat serves every request on its own virtual thread,
+// so the number of threads no longer limits how many requests wait on JDBC. The connection limit is enforced by
+// wrapping the DataSource in a ConnectionPermitDataSource instead.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // After the replica routing, so the permits also cover connections to the replicas.
+    public static final int PERMITS_ORDER = ReadReplicaConfig.ROUTING_ORDER + 1;
+
+    @Bean
+    static BeanPostProcessor connectionPermitPostProcessor(
+            @Value("${burgerstream.datasource.connection-permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${burgerstream.datasource.permit-timeout-ms:5000}") long timeoutMillis){
+        return new ConnectionPermitPostProcessor(permits, timeoutMillis);
+    }
+
+    @Bean
+    MeterBinder connectionPermitMetrics(DataSource dataSource){
+        return registry -> {
+            if (dataSource instanceof ConnectionPermitDataSource permitDataSource){
+                Gauge.builder("burgerstream.datasource.permits.available", permitDataSource, ConnectionPermitDataSource::getAvailablePermits)
+                        .register(registry);
+                Gauge.builder("burgerstream.datasource.permits.waiting", permitDataSource, ConnectionPermitDataSource::getWaitingThreads)
+                        .register(registry);
+            }
+        };
+    }
+
+    private record ConnectionPermitPostProcessor(int permits, long timeoutMillis) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionPermitDataSource)){
+                return new ConnectionPermitDataSource(dataSource, permits, timeoutMillis);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return PERMITS_ORDER;
+        }
+    }
+}
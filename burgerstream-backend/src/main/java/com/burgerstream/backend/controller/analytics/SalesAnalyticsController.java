@@ -0,0 +1,47 @@
+package com.burgerstream.backend.controller.analytics;
+
+import com.burgerstream.backend.model.analytics.RollupGranularity;
+import com.burgerstream.backend.service.analytics.RevenueBucket;
+import com.burgerstream.backend.service.analytics.SalesAnalyticsService;
+import com.burgerstream.backend.service.analytics.SizeMixEntry;
+import com.burgerstream.backend.service.analytics.TopSellingItem;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Ranges are [from, to) and default to the last 24 hours.
+@RestController
+@RequestMapping("/api/v1/BurgerStream/analytics")
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    public SalesAnalyticsController(SalesAnalyticsService salesAnalyticsService){
+        this.salesAnalyticsService = salesAnalyticsService;
+    }
+
+    @GetMapping("/revenue")
+    public List<RevenueBucket> getRevenue(@RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        return salesAnalyticsService.getRevenue(granularity, from == null ? end.minusDays(1) : from, end);
+    }
+
+    @GetMapping("/top-items")
+    public List<TopSellingItem> getTopSellingItems(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                   @RequestParam(defaultValue = "10") int limit){
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        return salesAnalyticsService.getTopSellingItems(from == null ? end.minusDays(1) : from, end, limit);
+    }
+
+    @GetMapping("/size-mix")
+    public List<SizeMixEntry> getSizeMix(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        return salesAnalyticsService.getSizeMix(from == null ? end.minusDays(1) : from, end);
+    }
+}
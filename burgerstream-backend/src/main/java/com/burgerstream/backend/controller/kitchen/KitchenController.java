@@ -0,0 +1,61 @@
+package com.burgerstream.backend.controller.kitchen;
+
+import com.burgerstream.backend.service.kitchen.KitchenEvent;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.kitchen.KitchenEventSink;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/BurgerStream/kitchen")
+public class KitchenController {
+
+    private final KitchenEventBroadcaster kitchenEventBroadcaster;
+
+    public KitchenController(KitchenEventBroadcaster kitchenEventBroadcaster){
+        this.kitchenEventBroadcaster = kitchenEventBroadcaster;
+    }
+
+    // Server-Sent Events push of new orders for kitchen screens, replaces polling GET /orders.
+    // Browsers resend the last event id in the Last-Event-ID header when they reconnect, other clients can use lastEventId.
+    @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                                   @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam){
+        SseEmitter emitter = new SseEmitter(0L);
+        KitchenEventBroadcaster.Subscription subscription = kitchenEventBroadcaster.subscribe(
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam,
+                new SseEventSink(emitter));
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    private record SseEventSink(SseEmitter emitter) implements KitchenEventSink {
+
+        @Override
+        public void send(KitchenEvent event) throws IOException {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .name(event.type().name())
+                    .data(event.data(), MediaType.APPLICATION_JSON);
+            if (event.id() != null){
+                builder.id(event.id().toString());
+            }
+            emitter.send(builder);
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
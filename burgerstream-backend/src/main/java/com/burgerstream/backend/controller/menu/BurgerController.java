@@ -1,9 +1,11 @@
 package com.burgerstream.backend.controller.menu;
 
+import com.burgerstream.backend.component.MenuHttpCache;
 import com.burgerstream.backend.model.menu.Burger;
 import com.burgerstream.backend.service.menu.BurgerService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -13,26 +15,29 @@ import java.util.Map;
 public class BurgerController{
 
     private final BurgerService burgerService;
+    private final MenuHttpCache menuHttpCache;
 
-    public BurgerController(BurgerService burgerService){
+    public BurgerController(BurgerService burgerService, MenuHttpCache menuHttpCache){
         this.burgerService = burgerService;
+        this.menuHttpCache = menuHttpCache;
     }
 
     @PostMapping
     public Burger createBurger(@RequestBody Burger burger) {return burgerService.createBurger(burger);}
 
     @GetMapping("/{id}")
-    public ResponseEntity<Burger> getBurger(@PathVariable Long id){
-        return ResponseEntity.ok(burgerService.getBurger(id));
+    public ResponseEntity<Burger> getBurger(@PathVariable Long id, WebRequest request){
+        return menuHttpCache.respond(request, () -> burgerService.getBurger(id));
     }
 
     @GetMapping
-    public List<Burger> getFilteredBurgers(
+    public ResponseEntity<List<Burger>> getFilteredBurgers(
             @RequestParam(required = false) Boolean vegan,
             @RequestParam(required = false) Boolean chicken,
-            @RequestParam(required = false) Boolean lactoseFree
+            @RequestParam(required = false) Boolean lactoseFree,
+            WebRequest request
     ) {
-        return burgerService.getFilteredBurgers(vegan, chicken, lactoseFree);
+        return menuHttpCache.respond(request, () -> burgerService.getFilteredBurgers(vegan, chicken, lactoseFree));
     }
 
     @PutMapping("/burgers/{id}")
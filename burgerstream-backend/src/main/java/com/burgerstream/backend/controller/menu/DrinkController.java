@@ -1,10 +1,12 @@
 package com.burgerstream.backend.controller.menu;
 
+import com.burgerstream.backend.component.MenuHttpCache;
 import com.burgerstream.backend.model.menu.Drink;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.service.menu.DrinkService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -14,25 +16,28 @@ import java.util.Set;
 @RequestMapping("/api/v1/BurgerStream/menu/drinks")
 public class DrinkController {
     private final DrinkService drinkService;
+    private final MenuHttpCache menuHttpCache;
 
-    public DrinkController(DrinkService drinkService){
+    public DrinkController(DrinkService drinkService, MenuHttpCache menuHttpCache){
         this.drinkService = drinkService;
+        this.menuHttpCache = menuHttpCache;
     }
 
     @PostMapping
     public Drink createDrink(@RequestBody Drink drink) {return drinkService.createDrink(drink);}
 
     @GetMapping
-    public List<Drink> getFilteredDrinks(
+    public ResponseEntity<List<Drink>> getFilteredDrinks(
             @RequestParam(required = false) Boolean carbonated,
-            @RequestParam(required = false) Boolean lactoseFree
+            @RequestParam(required = false) Boolean lactoseFree,
+            WebRequest request
     ) {
-        return drinkService.getFilteredDrinks(carbonated, lactoseFree);
+        return menuHttpCache.respond(request, () -> drinkService.getFilteredDrinks(carbonated, lactoseFree));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Drink> getDrink(@PathVariable Long id){
-        return ResponseEntity.ok(drinkService.getDrink(id));
+    public ResponseEntity<Drink> getDrink(@PathVariable Long id, WebRequest request){
+        return menuHttpCache.respond(request, () -> drinkService.getDrink(id));
     }
 
     @PutMapping("/{id}")
@@ -46,8 +51,8 @@ public class DrinkController {
     }
 
     @GetMapping("/{id}/sizes")
-    public Set<SizeOption> getDrinkSizes(@PathVariable Long id){
-        return drinkService.getDrinkSizes(id);
+    public ResponseEntity<Set<SizeOption>> getDrinkSizes(@PathVariable Long id, WebRequest request){
+        return menuHttpCache.respond(request, () -> drinkService.getDrinkSizes(id));
     }
 
     @PutMapping("/{id}/sizes/{sizeId}")
@@ -0,0 +1,62 @@
+package com.burgerstream.backend.controller.menu;
+
+import com.burgerstream.backend.component.MenuHttpCache;
+import com.burgerstream.backend.service.menu.MenuBundle;
+import com.burgerstream.backend.service.menu.MenuBundleCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+// The whole menu in one response for clients that keep it offline, written straight from the precompiled bytes.
+@RestController
+@RequestMapping("/api/v1/BurgerStream/menu/bundle")
+public class MenuBundleController {
+
+    private static final String GZIP = "gzip";
+
+    private final MenuBundleCache menuBundleCache;
+    private final MenuHttpCache menuHttpCache;
+
+    public MenuBundleController(MenuBundleCache menuBundleCache, MenuHttpCache menuHttpCache){
+        this.menuBundleCache = menuBundleCache;
+        this.menuHttpCache = menuHttpCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<byte[]> getMenuBundle(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                WebRequest request){
+        MenuBundle bundle = menuBundleCache.current();
+        if (accepts(acceptEncoding, GZIP)){
+            return menuHttpCache.respond(request, bundle.version(), GZIP, bundle.gzip());
+        }
+        return menuHttpCache.respond(request, bundle.version(), null, bundle.json());
+    }
+
+    // "gzip", "gzip;q=0.5" or "*" accept it, "gzip;q=0" refuses it.
+    private static boolean accepts(String acceptEncoding, String encoding){
+        if (acceptEncoding == null) return false;
+        for (String candidate : acceptEncoding.split(",")){
+            String[] parts = candidate.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase(encoding) && !name.equals("*")) continue;
+
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++){
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")){
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            return quality > 0;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.burgerstream.backend.controller.menu;
+
+import com.burgerstream.backend.exception.UnsupportedMenuFormatException;
+import com.burgerstream.backend.service.menu.MenuImportResult;
+import com.burgerstream.backend.service.menu.MenuImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// The request body is handed to the importer as a stream and the export is written straight to the response,
+// neither side reads the whole document into memory.
+@RestController
+@RequestMapping("/api/v1/BurgerStream/menu")
+public class MenuImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final MenuImportService menuImportService;
+
+    public MenuImportController(MenuImportService menuImportService) {
+        this.menuImportService = menuImportService;
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MenuImportResult> importJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(menuImportService.importJson(body));
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV)
+    public ResponseEntity<MenuImportResult> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(menuImportService.importCsv(body));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "json") String format) {
+        if (format.equalsIgnoreCase("json")) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"menu.json\"")
+                    .body(menuImportService::exportJson);
+        }
+        if (format.equalsIgnoreCase("csv")) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(TEXT_CSV))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"menu.csv\"")
+                    .body(menuImportService::exportCsv);
+        }
+        throw new UnsupportedMenuFormatException("Unknown export format " + format + ", use json or csv");
+    }
+}
@@ -1,29 +1,42 @@
 package com.burgerstream.backend.controller.menu;
 
+import com.burgerstream.backend.component.MenuHttpCache;
 import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.service.menu.MenuFlag;
 import com.burgerstream.backend.service.menu.MenuItemService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/BurgerStream/menu/items")
 public class MenuItemController {
 
     private final MenuItemService menuItemService;
+    private final MenuHttpCache menuHttpCache;
 
-    public MenuItemController(MenuItemService menuItemService) {
+    public MenuItemController(MenuItemService menuItemService, MenuHttpCache menuHttpCache) {
         this.menuItemService = menuItemService;
+        this.menuHttpCache = menuHttpCache;
     }
 
     @GetMapping
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemService.getAllMenuItems();
+    public ResponseEntity<List<MenuItem>> getAllMenuItems(
+            @RequestParam(required = false) Set<MenuFlag> allOf,
+            @RequestParam(required = false) Set<MenuFlag> anyOf,
+            WebRequest request
+    ) {
+        if (allOf == null && anyOf == null) {
+            return menuHttpCache.respond(request, menuItemService::getAllMenuItems);
+        }
+        return menuHttpCache.respond(request, () -> menuItemService.getFilteredMenuItems(allOf, anyOf));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MenuItem> getMenuItem(@PathVariable Long id) {
-        return ResponseEntity.ok(menuItemService.getMenuItem(id));
+    public ResponseEntity<MenuItem> getMenuItem(@PathVariable Long id, WebRequest request) {
+        return menuHttpCache.respond(request, () -> menuItemService.getMenuItem(id));
     }
 }
\ No newline at end of file
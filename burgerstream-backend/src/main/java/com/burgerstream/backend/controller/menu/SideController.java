@@ -1,10 +1,12 @@
 package com.burgerstream.backend.controller.menu;
 
+import com.burgerstream.backend.component.MenuHttpCache;
 import com.burgerstream.backend.model.menu.Side;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.service.menu.SideService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -15,9 +17,11 @@ import java.util.Set;
 public class SideController {
 
     private final SideService sideService;
+    private final MenuHttpCache menuHttpCache;
 
-    public SideController(SideService sideService) {
+    public SideController(SideService sideService, MenuHttpCache menuHttpCache) {
         this.sideService = sideService;
+        this.menuHttpCache = menuHttpCache;
     }
 
     @PostMapping
@@ -26,15 +30,16 @@ public class SideController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Side> getSide(@PathVariable Long id) {
-        return ResponseEntity.ok(sideService.getSide(id));
+    public ResponseEntity<Side> getSide(@PathVariable Long id, WebRequest request) {
+        return menuHttpCache.respond(request, () -> sideService.getSide(id));
     }
 
     @GetMapping
-    public List<Side> getFilteredSides(
-            @RequestParam(required = false) Boolean shareable
+    public ResponseEntity<List<Side>> getFilteredSides(
+            @RequestParam(required = false) Boolean shareable,
+            WebRequest request
     ) {
-        return sideService.getFilteredSides(shareable);
+        return menuHttpCache.respond(request, () -> sideService.getFilteredSides(shareable));
     }
 
     @PutMapping("/{id}")
@@ -48,8 +53,8 @@ public class SideController {
     }
 
     @GetMapping("/{id}/sizes")
-    public Set<SizeOption> getSideSizes(@PathVariable Long id){
-        return sideService.getSideSizes(id);
+    public ResponseEntity<Set<SizeOption>> getSideSizes(@PathVariable Long id, WebRequest request){
+        return menuHttpCache.respond(request, () -> sideService.getSideSizes(id));
     }
 
     @PutMapping("/{id}/sizes/{sizeId}")
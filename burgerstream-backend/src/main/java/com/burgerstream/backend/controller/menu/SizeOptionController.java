@@ -1,9 +1,11 @@
 package com.burgerstream.backend.controller.menu;
 
+import com.burgerstream.backend.component.MenuHttpCache;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.service.menu.SizeOptionService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -13,9 +15,11 @@ import java.util.Map;
 public class SizeOptionController {
 
     private final SizeOptionService sizeOptionService;
+    private final MenuHttpCache menuHttpCache;
 
-    public SizeOptionController(SizeOptionService sizeOptionService){
+    public SizeOptionController(SizeOptionService sizeOptionService, MenuHttpCache menuHttpCache){
         this.sizeOptionService = sizeOptionService;
+        this.menuHttpCache = menuHttpCache;
     }
 
     @PostMapping
@@ -24,13 +28,13 @@ public class SizeOptionController {
     }
 
     @GetMapping
-    public List<SizeOption> getAllSizeOptions(){
-        return sizeOptionService.getAllSizeOptions();
+    public ResponseEntity<List<SizeOption>> getAllSizeOptions(WebRequest request){
+        return menuHttpCache.respond(request, sizeOptionService::getAllSizeOptions);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SizeOption> getSizeOption(@PathVariable Long id){
-        return ResponseEntity.ok(sizeOptionService.getSizeOption(id));
+    public ResponseEntity<SizeOption> getSizeOption(@PathVariable Long id, WebRequest request){
+        return menuHttpCache.respond(request, () -> sizeOptionService.getSizeOption(id));
     }
 
     @PutMapping("/{id}")
@@ -44,12 +48,12 @@ public class SizeOptionController {
     }
 
     @PutMapping("/{id}/assign/drinks")
-    public ResponseEntity<SizeOption> assignSizeToDrinks(@PathVariable Long id, @RequestBody List<Long> drinkIds){
+    public ResponseEntity<Map<String, Integer>> assignSizeToDrinks(@PathVariable Long id, @RequestBody List<Long> drinkIds){
         return ResponseEntity.ok(sizeOptionService.assignSizeToDrinks(id, drinkIds));
     }
 
     @PutMapping("/{id}/assign/sides")
-    public ResponseEntity<SizeOption> assignSizeToSides(@PathVariable Long id, @RequestBody List<Long> sideIds){
+    public ResponseEntity<Map<String, Integer>> assignSizeToSides(@PathVariable Long id, @RequestBody List<Long> sideIds){
         return ResponseEntity.ok(sizeOptionService.assignSizeToSides(id, sideIds));
     }
 }
\ No newline at end of file
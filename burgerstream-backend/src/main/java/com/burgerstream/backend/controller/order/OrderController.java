@@ -1,11 +1,31 @@
 package com.burgerstream.backend.controller.order;
 
 import com.burgerstream.backend.model.order.Order;
-import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.model.order.OrderStatus;
+import com.burgerstream.backend.service.kitchen.KitchenOrder;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderBatchResult;
+import com.burgerstream.backend.service.order.OrderBatchService;
+import com.burgerstream.backend.service.order.OrderIdempotencyStore;
+import com.burgerstream.backend.service.order.OrderIngestService;
+import com.burgerstream.backend.service.order.OrderItemView;
+import com.burgerstream.backend.service.order.OrderPage;
+import com.burgerstream.backend.service.order.OrderReceipt;
+import com.burgerstream.backend.service.order.OrderSearch;
 import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.OrderView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -14,23 +34,117 @@ import java.util.Map;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIngestService orderIngestService;
+    private final OrderBatchService orderBatchService;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+    private final ActiveOrderBoard activeOrderBoard;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService){
+    public OrderController(OrderService orderService,
+                           OrderIngestService orderIngestService,
+                           OrderBatchService orderBatchService,
+                           OrderIdempotencyStore orderIdempotencyStore,
+                           ActiveOrderBoard activeOrderBoard,
+                           ObjectMapper objectMapper){
         this.orderService = orderService;
+        this.orderIngestService = orderIngestService;
+        this.orderBatchService = orderBatchService;
+        this.orderIdempotencyStore = orderIdempotencyStore;
+        this.activeOrderBoard = activeOrderBoard;
+        this.objectMapper = objectMapper;
     }
 
+    // In ingest mode the order is only acknowledged here, it is written to the database shortly after.
+    // With an Idempotency-Key a retry gets the first attempt's response back instead of placing the order again.
     @PostMapping
-    public Order createOrder(@RequestBody Order order) { return orderService.createOrder(order);}
+    public ResponseEntity<?> createOrder(@RequestBody Order order,
+                                         @RequestHeader(name = OrderIdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            OrderIdempotencyStore.Response response = orderIngestService.isEnabled()
+                    ? orderIngestService.submit(order, idempotencyKey, HttpStatus.ACCEPTED.value())
+                    : orderIdempotencyStore.execute(idempotencyKey, order, HttpStatus.OK.value(), () -> orderService.createOrder(order));
+            return ResponseEntity.status(response.status())
+                    .header("Idempotent-Replayed", String.valueOf(response.replayed()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response.body());
+        }
+        if (orderIngestService.isEnabled()) {
+            return ResponseEntity.accepted().body(orderIngestService.submit(order));
+        }
+        return ResponseEntity.ok(orderService.createOrder(order));
+    }
+
+    // Up to burgerstream.orders.batch.max-orders orders in one call, with a result per order.
+    @PostMapping("/batch")
+    public ResponseEntity<OrderBatchResult> createOrders(@RequestBody List<Order> orders) {
+        return ResponseEntity.ok(orderBatchService.createOrders(orders));
+    }
+
+    @GetMapping("/receipts/{reference}")
+    public ResponseEntity<OrderReceipt> getOrderReceipt(@PathVariable String reference) {
+        return ResponseEntity.ok(orderIngestService.getReceipt(reference));
+    }
+
+    // Orders that are not collected yet, per status and oldest first, answered from memory.
+    @GetMapping("/active")
+    public Map<OrderStatus, List<KitchenOrder>> getActiveOrders(){
+        return activeOrderBoard.getBoard();
+    }
+
+    @GetMapping("/active/{status}")
+    public List<KitchenOrder> getActiveOrders(@PathVariable OrderStatus status){
+        return activeOrderBoard.getOrders(status);
+    }
 
+    @PostMapping("/{id}/prepare")
+    public ResponseEntity<Order> startPreparing(@PathVariable Long id){
+        return ResponseEntity.ok(orderService.advanceStatus(id, OrderStatus.PREPARING));
+    }
+
+    @PostMapping("/{id}/ready")
+    public ResponseEntity<Order> markReady(@PathVariable Long id){
+        return ResponseEntity.ok(orderService.advanceStatus(id, OrderStatus.READY));
+    }
+
+    @PostMapping("/{id}/collect")
+    public ResponseEntity<Order> markCollected(@PathVariable Long id){
+        return ResponseEntity.ok(orderService.advanceStatus(id, OrderStatus.COLLECTED));
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrder(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.getOrder(id));
+    public ResponseEntity<OrderView> getOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.getOrderView(id));
     }
 
     @GetMapping
-    public List<Order> getAllOrders(){
-        return orderService.getAllOrders();
+    public OrderPage getOrders(@RequestParam(required = false) String cursor,
+                               @RequestParam(defaultValue = "50") int limit){
+        return orderService.getOrderPage(cursor, limit);
+    }
+
+    // Needs customerEmail or from, the filters the order indexes can answer.
+    @GetMapping("/search")
+    public OrderPage searchOrders(@RequestParam(required = false) String customerEmail,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                  @RequestParam(required = false) BigDecimal minTotal,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "50") int limit){
+        return orderService.searchOrders(new OrderSearch(customerEmail, from, to, minTotal), cursor, limit);
+    }
+
+    // Whole order history as newline delimited JSON, written while it is read so memory use stays flat.
+    @GetMapping(produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllOrders(){
+        StreamingResponseBody body = outputStream -> orderService.streamAllOrders(order -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(order));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
     }
 
     // As the order entity is after a person has ordered, they cannot change much about the order (fx the food or time of date.)
@@ -48,7 +162,7 @@ public class OrderController {
     }
 
     @GetMapping("/{id}/items")
-    public List<OrderItem> getOrderItemsFromOrder(@PathVariable Long id){
+    public List<OrderItemView> getOrderItemsFromOrder(@PathVariable Long id){
         return orderService.getOrderItemsFromOrder(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.burgerstream.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidOrderSearchException extends RuntimeException {
+    public InvalidOrderSearchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.burgerstream.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class MenuUpdateConflictException extends RuntimeException {
+    public MenuUpdateConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.burgerstream.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class OrderIngestBackpressureException extends RuntimeException {
+    public OrderIngestBackpressureException(String message) {
+        super(message);
+    }
+}
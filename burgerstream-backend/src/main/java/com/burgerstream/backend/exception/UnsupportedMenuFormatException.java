@@ -0,0 +1,11 @@
+package com.burgerstream.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class UnsupportedMenuFormatException extends RuntimeException {
+    public UnsupportedMenuFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.burgerstream.backend.model.analytics;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Units sold and revenue per time bucket, menu item and size (size_option_id 0 when ordered without a size).
+@Entity
+@Immutable
+@Table(name = "item_rollups")
+public class ItemRollup {
+
+    @Embeddable
+    public record Key(
+            @Enumerated(EnumType.STRING)
+            @Column(name = "granularity", length = 10, nullable = false)
+            RollupGranularity granularity,
+
+            @Column(name = "bucket_start", nullable = false)
+            LocalDateTime bucketStart,
+
+            @Column(name = "menu_item_id", nullable = false)
+            Long menuItemId,
+
+            @Column(name = "size_option_id", nullable = false)
+            Long sizeOptionId
+    ) implements Serializable { }
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "revenue", precision = 14, scale = 2, nullable = false)
+    private BigDecimal revenue;
+
+    protected ItemRollup() {}
+
+    public Key getId() {
+        return id;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
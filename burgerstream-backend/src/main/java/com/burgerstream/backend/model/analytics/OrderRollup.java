@@ -0,0 +1,48 @@
+package com.burgerstream.backend.model.analytics;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Orders and revenue per time bucket. Rows are only ever changed by SalesRollupService's upserts.
+@Entity
+@Immutable
+@Table(name = "order_rollups")
+public class OrderRollup {
+
+    @Embeddable
+    public record Key(
+            @Enumerated(EnumType.STRING)
+            @Column(name = "granularity", length = 10, nullable = false)
+            RollupGranularity granularity,
+
+            @Column(name = "bucket_start", nullable = false)
+            LocalDateTime bucketStart
+    ) implements Serializable { }
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "revenue", precision = 14, scale = 2, nullable = false)
+    private BigDecimal revenue;
+
+    protected OrderRollup() {}
+
+    public Key getId() {
+        return id;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,19 @@
+package com.burgerstream.backend.model.analytics;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit){
+        this.unit = unit;
+    }
+
+    public LocalDateTime bucketOf(LocalDateTime time){
+        return time.truncatedTo(unit);
+    }
+}
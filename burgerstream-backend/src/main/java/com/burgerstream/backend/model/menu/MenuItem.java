@@ -1,16 +1,20 @@
 package com.burgerstream.backend.model.menu;
 
+import com.burgerstream.backend.service.menu.MenuChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "menu_items")
 @Inheritance(strategy = InheritanceType.JOINED)
+@EntityListeners(MenuChangeListener.class)
 public abstract class MenuItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = "menu_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -25,6 +29,13 @@ public abstract class MenuItem {
     @Column(name = "image_url")
     private String imageUrl;
 
+    // Optimistic locking: an update only succeeds if nobody changed the row since it was read.
+    // The default fills the column for rows that existed before it was added.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public MenuItem(){ }
 
     public Long getId() {
@@ -66,4 +77,12 @@ public abstract class MenuItem {
     public void setImageURL(String imageURL) {
         this.imageUrl = imageURL;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -1,15 +1,19 @@
 package com.burgerstream.backend.model.menu;
 
+import com.burgerstream.backend.service.menu.MenuChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "size_options")
+@EntityListeners(MenuChangeListener.class)
 public class SizeOption {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "size_options_seq")
+    @SequenceGenerator(name = "size_options_seq", sequenceName = "size_options_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "label", nullable = false)
@@ -21,6 +25,13 @@ public class SizeOption {
     @Column(name = "extra_price", precision = 10, scale = 2, nullable = false)
     private BigDecimal extraPrice;
 
+    // Optimistic locking: an update only succeeds if nobody changed the row since it was read.
+    // The default fills the column for rows that existed before it was added.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public SizeOption(){ }
 
     public Long getId() {
@@ -54,4 +65,26 @@ public class SizeOption {
     public void setExtraPrice(BigDecimal extraPrice) {
         this.extraPrice = extraPrice;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // Equal by id, so a size loaded again in a new persistence context (fx after a bulk join table insert) still
+    // matches the one a caller holds. The hash code is fixed because the id is only known once it is persisted.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SizeOption other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return SizeOption.class.hashCode();
+    }
+}
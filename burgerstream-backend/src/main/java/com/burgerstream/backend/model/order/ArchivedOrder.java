@@ -0,0 +1,54 @@
+package com.burgerstream.backend.model.order;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Where an order that was moved out of the orders table lives now: the archive file holding it, relative to the
+// archive directory. Only this small row stays in the database.
+@Entity
+@Table(name = "archived_orders")
+public class ArchivedOrder {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "date", nullable = false)
+    private LocalDateTime date;
+
+    @Column(name = "archive_file", nullable = false, length = 100)
+    private String archiveFile;
+
+    public ArchivedOrder() {}
+
+    public ArchivedOrder(Long orderId, LocalDateTime date, String archiveFile) {
+        this.orderId = orderId;
+        this.date = date;
+        this.archiveFile = archiveFile;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public String getArchiveFile() {
+        return archiveFile;
+    }
+
+    public void setArchiveFile(String archiveFile) {
+        this.archiveFile = archiveFile;
+    }
+}
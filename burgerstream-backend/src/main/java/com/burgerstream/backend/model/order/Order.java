@@ -1,7 +1,9 @@
 package com.burgerstream.backend.model.order;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,11 +11,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+// The date indexes serve the order history: customer_email, date for a customer's orders newest first, date for
+// date ranges and keyset paging (InnoDB adds the id to every secondary index, so it orders by date, id).
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status", columnList = "status"),
+        @Index(name = "idx_orders_customer_email_date", columnList = "customer_email, date"),
+        @Index(name = "idx_orders_date", columnList = "date")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Temporal(TemporalType.TIMESTAMP)
@@ -29,6 +38,17 @@ public class Order {
     @Column(name = "customer_email", nullable = false)
     private String customerEmail;
 
+    // Handed out before the order is written when orders are taken through the async ingest pipeline, never by the client.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "reference", unique = true, updatable = false, length = 36)
+    private String reference;
+
+    // Orders from before the lifecycle existed get COLLECTED when the column is added, they are long done.
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'COLLECTED'")
+    @Column(name = "status", nullable = false, length = 20)
+    private OrderStatus status = OrderStatus.PLACED;
+
     @JsonManagedReference
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
@@ -75,6 +95,22 @@ public class Order {
         this.customerEmail = customerEmail;
     }
 
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
     public List<OrderItem> getOrderItems() {
         return orderItems;
     }
@@ -0,0 +1,72 @@
+package com.burgerstream.backend.model.order;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// An Idempotency-Key a client sent with POST /orders, with a hash of the order it came with and the response it got.
+// The row is inserted in the same transaction as the order, so after a crash a key is remembered exactly when its
+// order exists. The response is empty only while that transaction is still running.
+@Entity
+@Table(name = "order_idempotency_keys", indexes = @Index(name = "idx_order_idempotency_keys_expires_at", columnList = "expires_at"))
+public class OrderIdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public OrderIdempotencyKey() {}
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -3,6 +3,7 @@ package com.burgerstream.backend.model.order;
 import com.burgerstream.backend.model.menu.MenuItem;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -12,7 +13,8 @@ import java.math.BigDecimal;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @JsonBackReference
@@ -34,6 +36,15 @@ public class OrderItem {
     @Column(name = "item_end_price", precision = 10, scale = 2, nullable = false)
     private BigDecimal itemEndPrice = BigDecimal.ZERO;
 
+    // Lets clients place an order with only the ids, the PricingEngine resolves them against the menu.
+    @Transient
+    @JsonProperty(value = "menuItemId", access = JsonProperty.Access.WRITE_ONLY)
+    private Long menuItemId;
+
+    @Transient
+    @JsonProperty(value = "sizeOptionId", access = JsonProperty.Access.WRITE_ONLY)
+    private Long sizeOptionId;
+
     public OrderItem(){}
 
     public Long getId() {
@@ -74,8 +85,6 @@ public class OrderItem {
 
     public void setAmount(Integer amount) {
         this.amount = amount;
-        BigDecimal newPrice = itemEndPrice.multiply(BigDecimal.valueOf(amount));
-        this.setItemEndPrice(newPrice);
     }
 
     public BigDecimal getItemEndPrice() {
@@ -85,4 +94,20 @@ public class OrderItem {
     public void setItemEndPrice(BigDecimal itemEndPrice) {
         this.itemEndPrice = itemEndPrice;
     }
+
+    public Long getMenuItemId() {
+        return menuItem != null ? menuItem.getId() : menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public Long getSizeOptionId() {
+        return sizeOption != null ? sizeOption.getId() : sizeOptionId;
+    }
+
+    public void setSizeOptionId(Long sizeOptionId) {
+        this.sizeOptionId = sizeOptionId;
+    }
 }
\ No newline at end of file
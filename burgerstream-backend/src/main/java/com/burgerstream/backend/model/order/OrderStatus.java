@@ -0,0 +1,18 @@
+package com.burgerstream.backend.model.order;
+
+// Lifecycle of an order in the kitchen, an order only ever moves one step forward.
+public enum OrderStatus {
+    PLACED,
+    PREPARING,
+    READY,
+    COLLECTED;
+
+    public boolean isActive(){
+        return this != COLLECTED;
+    }
+
+    // The status an order must be in to move to this one, null for PLACED.
+    public OrderStatus previous(){
+        return this == PLACED ? null : values()[ordinal() - 1];
+    }
+}
@@ -0,0 +1,40 @@
+package com.burgerstream.backend.repository.analytics;
+
+import com.burgerstream.backend.model.analytics.ItemRollup;
+import com.burgerstream.backend.model.analytics.RollupGranularity;
+import com.burgerstream.backend.service.analytics.ItemSales;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemRollupRepository extends JpaRepository<ItemRollup, ItemRollup.Key> {
+
+    @Query("""
+            select new com.burgerstream.backend.service.analytics.ItemSales(r.id.menuItemId, sum(r.quantity), sum(r.revenue))
+            from ItemRollup r
+            where r.id.granularity = :granularity and r.id.bucketStart >= :from and r.id.bucketStart < :to
+            group by r.id.menuItemId
+            having sum(r.quantity) > 0
+            order by sum(r.quantity) desc, r.id.menuItemId""")
+    List<ItemSales> findTopItems(@Param("granularity") RollupGranularity granularity,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 Limit limit);
+
+    @Query("""
+            select new com.burgerstream.backend.service.analytics.ItemSales(r.id.menuItemId, r.id.sizeOptionId, sum(r.quantity), sum(r.revenue))
+            from ItemRollup r
+            where r.id.granularity = :granularity and r.id.bucketStart >= :from and r.id.bucketStart < :to
+            group by r.id.menuItemId, r.id.sizeOptionId
+            having sum(r.quantity) > 0
+            order by r.id.menuItemId, r.id.sizeOptionId""")
+    List<ItemSales> findSizeMix(@Param("granularity") RollupGranularity granularity,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+}
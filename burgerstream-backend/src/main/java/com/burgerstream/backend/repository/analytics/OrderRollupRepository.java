@@ -0,0 +1,20 @@
+package com.burgerstream.backend.repository.analytics;
+
+import com.burgerstream.backend.model.analytics.OrderRollup;
+import com.burgerstream.backend.model.analytics.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderRollupRepository extends JpaRepository<OrderRollup, OrderRollup.Key> {
+
+    @Query("select r from OrderRollup r where r.id.granularity = :granularity and r.id.bucketStart >= :from and r.id.bucketStart < :to and r.orderCount > 0 order by r.id.bucketStart")
+    List<OrderRollup> findRange(@Param("granularity") RollupGranularity granularity,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+}
@@ -1,14 +1,34 @@
 package com.burgerstream.backend.repository.menu;
 
 import com.burgerstream.backend.model.menu.Drink;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface DrinkRepository extends JpaRepository<Drink, Long> {
-    List<Drink> findByIsCarbonatedTrue();
+    @EntityGraph(attributePaths = "sizeOptions")
+    @Query("select d from Drink d")
+    List<Drink> findAllWithSizeOptions();
 
-    List<Drink> findByIsLactoseFreeTrue();
+    // Join rows are written directly, insert ignore makes adding a size that is already there a no-op.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert ignore into drink_size_options (menu_item_id, size_option_id) values (:drinkId, :sizeOptionId)", nativeQuery = true)
+    int addSizeOption(@Param("drinkId") Long drinkId, @Param("sizeOptionId") Long sizeOptionId);
 
-    List<Drink> findByIsCarbonatedTrueAndIsLactoseFreeTrue();
-}
\ No newline at end of file
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from drink_size_options where menu_item_id = :drinkId and size_option_id = :sizeOptionId", nativeQuery = true)
+    int removeSizeOption(@Param("drinkId") Long drinkId, @Param("sizeOptionId") Long sizeOptionId);
+
+    // One insert ... select for any number of drinks, ids that are not drinks are skipped and so are drinks that
+    // already have the size. Returns the number of drinks that got it.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            insert ignore into drink_size_options (menu_item_id, size_option_id)
+            select d.id, :sizeOptionId from drinks d where d.id in (:drinkIds)""", nativeQuery = true)
+    int addSizeOptionToAll(@Param("sizeOptionId") Long sizeOptionId, @Param("drinkIds") Collection<Long> drinkIds);
+}
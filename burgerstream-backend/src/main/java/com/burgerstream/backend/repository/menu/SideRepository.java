@@ -1,13 +1,37 @@
 package com.burgerstream.backend.repository.menu;
 
 import com.burgerstream.backend.model.menu.Side;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SideRepository extends JpaRepository<Side, Long> {
 
-    List<Side> findByIsShareableTrue();
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "sizeOptions")
+    @Query("select s from Side s")
+    List<Side> findAllWithSizeOptions();
+
+    // Join rows are written directly, insert ignore makes adding a size that is already there a no-op.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert ignore into side_size_options (menu_item_id, size_option_id) values (:sideId, :sizeOptionId)", nativeQuery = true)
+    int addSizeOption(@Param("sideId") Long sideId, @Param("sizeOptionId") Long sizeOptionId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from side_size_options where menu_item_id = :sideId and size_option_id = :sizeOptionId", nativeQuery = true)
+    int removeSizeOption(@Param("sideId") Long sideId, @Param("sizeOptionId") Long sizeOptionId);
+
+    // One insert ... select for any number of sides, ids that are not sides are skipped and so are sides that
+    // already have the size. Returns the number of sides that got it.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            insert ignore into side_size_options (menu_item_id, size_option_id)
+            select s.id, :sizeOptionId from sides s where s.id in (:sideIds)""", nativeQuery = true)
+    int addSizeOptionToAll(@Param("sizeOptionId") Long sizeOptionId, @Param("sideIds") Collection<Long> sideIds);
+}
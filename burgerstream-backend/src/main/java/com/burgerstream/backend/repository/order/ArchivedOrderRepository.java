@@ -0,0 +1,16 @@
+package com.burgerstream.backend.repository.order;
+
+import com.burgerstream.backend.model.order.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("select max(a.date) from ArchivedOrder a")
+    Optional<LocalDateTime> findNewestDate();
+}
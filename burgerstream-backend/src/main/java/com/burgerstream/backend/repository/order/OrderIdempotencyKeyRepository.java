@@ -0,0 +1,28 @@
+package com.burgerstream.backend.repository.order;
+
+import com.burgerstream.backend.model.order.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, String> {
+
+    // A plain insert rather than save(): a second request with the same key has to fail on the primary key
+    // (after waiting for the first one's transaction), save() would look the key up and overwrite it.
+    @Modifying
+    @Query(value = "insert into order_idempotency_keys (idempotency_key, request_hash, expires_at) values (:key, :requestHash, :expiresAt)", nativeQuery = true)
+    void claim(@Param("key") String key, @Param("requestHash") String requestHash, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("update OrderIdempotencyKey k set k.responseStatus = :status, k.responseBody = :body where k.idempotencyKey = :key")
+    void saveResponse(@Param("key") String key, @Param("status") int status, @Param("body") String body);
+
+    @Modifying
+    @Query("delete from OrderIdempotencyKey k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,9 +1,27 @@
 package com.burgerstream.backend.repository.order;
 
 import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.service.order.OrderItemView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+
+    @Query("""
+            select new com.burgerstream.backend.service.order.OrderItemView(i.order.id, i.id, m.id, m.name, s.id, s.label, s.sizeLabel, i.amount, i.itemEndPrice)
+            from OrderItem i join i.menuItem m left join i.sizeOption s
+            where i.order.id in :orderIds
+            order by i.id""")
+    List<OrderItemView> findViewsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from OrderItem i where i.order.id in :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -1,9 +1,85 @@
 package com.burgerstream.backend.repository.order;
 
 import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderStatus;
+import com.burgerstream.backend.service.order.OrderView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
+
+    Optional<Order> findByReference(String reference);
+
+    // Order views load the items with their menu item and size in the same statement instead of one select per item.
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.menuItem", "orderItems.sizeOption"})
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.menuItem", "orderItems.sizeOption"})
+    @Query("select o from Order o where o.id in :ids order by o.date desc, o.id desc")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.menuItem", "orderItems.sizeOption"})
+    @Query("select o from Order o where o.status in :statuses")
+    List<Order> findAllWithItemsByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
+
+    @Query("select o.status from Order o where o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    // Moves the order only if it is still in the expected status, so two concurrent transitions can't both win.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :to where o.id = :id and o.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
+
+    // Keyset pagination over (date, id), newest first, instead of an OFFSET scan. Pages are read as views,
+    // the items of the page's orders are selected separately by OrderItemRepository.findViewsByOrderIdIn.
+    @Query("""
+            select new com.burgerstream.backend.service.order.OrderView(o.id, o.date, o.orderEndPrice, o.customerName, o.customerEmail, o.reference, o.status)
+            from Order o
+            order by o.date desc, o.id desc""")
+    List<OrderView> findFirstPageViews(Limit limit);
+
+    @Query("""
+            select new com.burgerstream.backend.service.order.OrderView(o.id, o.date, o.orderEndPrice, o.customerName, o.customerEmail, o.reference, o.status)
+            from Order o
+            where o.date < :date or (o.date = :date and o.id < :id)
+            order by o.date desc, o.id desc""")
+    List<OrderView> findPageViewsAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Limit limit);
+
+    @Query("""
+            select new com.burgerstream.backend.service.order.OrderView(o.id, o.date, o.orderEndPrice, o.customerName, o.customerEmail, o.reference, o.status)
+            from Order o
+            where o.id = :id""")
+    Optional<OrderView> findViewById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select o from Order o where o.date >= :from and o.date < :to order by o.date desc, o.id desc")
+    Stream<Order> streamAllBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select o.reference from Order o where o.reference in :references")
+    Set<String> findExistingReferences(@Param("references") Collection<String> references);
+
+    // Oldest collected orders first, the ones the archive job moves out of the table.
+    @Query("select o.id from Order o where o.date < :before and o.status = :status order by o.date, o.id")
+    List<Long> findIdsToArchive(@Param("before") LocalDateTime before, @Param("status") OrderStatus status, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Order o where o.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
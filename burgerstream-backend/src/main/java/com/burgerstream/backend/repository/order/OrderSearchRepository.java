@@ -0,0 +1,14 @@
+package com.burgerstream.backend.repository.order;
+
+import com.burgerstream.backend.service.order.OrderCursor;
+import com.burgerstream.backend.service.order.OrderSearch;
+import com.burgerstream.backend.service.order.OrderView;
+
+import java.util.List;
+
+// Order history search, the query only contains the conditions that were asked for so the database can pick
+// idx_orders_customer_email_date or idx_orders_date for it.
+public interface OrderSearchRepository {
+
+    List<OrderView> searchViews(OrderSearch search, OrderCursor after, int limit);
+}
@@ -0,0 +1,45 @@
+package com.burgerstream.backend.repository.order;
+
+import com.burgerstream.backend.service.order.OrderCursor;
+import com.burgerstream.backend.service.order.OrderSearch;
+import com.burgerstream.backend.service.order.OrderView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private final EntityManager entityManager;
+
+    OrderSearchRepositoryImpl(EntityManager entityManager){
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<OrderView> searchViews(OrderSearch search, OrderCursor after, int limit) {
+        // Optional filters as "(:x is null or ...)" would leave every index unusable, so each one is only added when set.
+        StringBuilder jpql = new StringBuilder("""
+                select new com.burgerstream.backend.service.order.OrderView(o.id, o.date, o.orderEndPrice, o.customerName, o.customerEmail, o.reference, o.status)
+                from Order o
+                where 1 = 1""");
+        boolean byCustomer = search.customerEmail() != null && !search.customerEmail().isBlank();
+        if (byCustomer) jpql.append(" and o.customerEmail = :customerEmail");
+        if (search.from() != null) jpql.append(" and o.date >= :from");
+        if (search.to() != null) jpql.append(" and o.date < :to");
+        if (search.minTotal() != null) jpql.append(" and o.orderEndPrice >= :minTotal");
+        if (after != null) jpql.append(" and (o.date < :afterDate or (o.date = :afterDate and o.id < :afterId))");
+        jpql.append(" order by o.date desc, o.id desc");
+
+        TypedQuery<OrderView> query = entityManager.createQuery(jpql.toString(), OrderView.class);
+        if (byCustomer) query.setParameter("customerEmail", search.customerEmail());
+        if (search.from() != null) query.setParameter("from", search.from());
+        if (search.to() != null) query.setParameter("to", search.to());
+        if (search.minTotal() != null) query.setParameter("minTotal", search.minTotal());
+        if (after != null){
+            query.setParameter("afterDate", after.date());
+            query.setParameter("afterId", after.id());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,23 @@
+package com.burgerstream.backend.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Runs in-memory side effects (events, boards) only once the database change they describe is committed.
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    public static void run(Runnable action){
+        if (TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.burgerstream.backend.service.analytics;
+
+import java.math.BigDecimal;
+
+// Units and revenue summed over a range of rollups, sizeOptionId is null when summed over all sizes.
+public record ItemSales(Long menuItemId, Long sizeOptionId, Long quantity, BigDecimal revenue) {
+
+    public ItemSales(Long menuItemId, Long quantity, BigDecimal revenue){
+        this(menuItemId, null, quantity, revenue);
+    }
+}
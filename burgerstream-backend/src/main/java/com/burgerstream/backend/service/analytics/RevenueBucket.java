@@ -0,0 +1,6 @@
+package com.burgerstream.backend.service.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record RevenueBucket(LocalDateTime bucketStart, long orderCount, BigDecimal revenue) { }
@@ -0,0 +1,79 @@
+package com.burgerstream.backend.service.analytics;
+
+import com.burgerstream.backend.model.analytics.RollupGranularity;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.repository.analytics.ItemRollupRepository;
+import com.burgerstream.backend.repository.analytics.OrderRollupRepository;
+import com.burgerstream.backend.service.menu.MenuSnapshot;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sales figures read only from the rollup tables, names come from the menu snapshot.
+// Item figures use the hourly rollups, so their range is widened to whole hours.
+@Service
+public class SalesAnalyticsService {
+
+    public static final int MAX_TOP_ITEMS = 100;
+
+    private final OrderRollupRepository orderRollupRepository;
+    private final ItemRollupRepository itemRollupRepository;
+    private final MenuSnapshotCache menuSnapshotCache;
+
+    public SalesAnalyticsService(OrderRollupRepository orderRollupRepository,
+                                 ItemRollupRepository itemRollupRepository,
+                                 MenuSnapshotCache menuSnapshotCache){
+        this.orderRollupRepository = orderRollupRepository;
+        this.itemRollupRepository = itemRollupRepository;
+        this.menuSnapshotCache = menuSnapshotCache;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RevenueBucket> getRevenue(RollupGranularity granularity, LocalDateTime from, LocalDateTime to){
+        return orderRollupRepository.findRange(granularity, granularity.bucketOf(from), to).stream()
+                .map(rollup -> new RevenueBucket(rollup.getId().bucketStart(), rollup.getOrderCount(), rollup.getRevenue()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<TopSellingItem> getTopSellingItems(LocalDateTime from, LocalDateTime to, int limit){
+        MenuSnapshot menu = menuSnapshotCache.current();
+        return itemRollupRepository.findTopItems(RollupGranularity.HOUR, RollupGranularity.HOUR.bucketOf(from), to,
+                        Limit.of(Math.clamp(limit, 1, MAX_TOP_ITEMS))).stream()
+                .map(sales -> new TopSellingItem(sales.menuItemId(), nameOf(menu, sales.menuItemId()), sales.quantity(), sales.revenue()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<SizeMixEntry> getSizeMix(LocalDateTime from, LocalDateTime to){
+        List<ItemSales> sales = itemRollupRepository.findSizeMix(RollupGranularity.HOUR, RollupGranularity.HOUR.bucketOf(from), to);
+
+        Map<Long, Long> unitsPerItem = new HashMap<>();
+        for (ItemSales entry : sales){
+            unitsPerItem.merge(entry.menuItemId(), entry.quantity(), Long::sum);
+        }
+
+        MenuSnapshot menu = menuSnapshotCache.current();
+        List<SizeMixEntry> mix = new ArrayList<>(sales.size());
+        for (ItemSales entry : sales){
+            Long sizeOptionId = entry.sizeOptionId() == 0 ? null : entry.sizeOptionId();
+            String sizeLabel = sizeOptionId == null ? null : menu.findSizeOption(sizeOptionId).map(SizeOption::getSizeLabel).orElse(null);
+            double share = (double) entry.quantity() / unitsPerItem.get(entry.menuItemId());
+            mix.add(new SizeMixEntry(entry.menuItemId(), nameOf(menu, entry.menuItemId()), sizeOptionId, sizeLabel,
+                    entry.quantity(), entry.revenue(), share));
+        }
+        return mix;
+    }
+
+    private String nameOf(MenuSnapshot menu, Long menuItemId){
+        return menu.findMenuItem(menuItemId).map(MenuItem::getName).orElse(null);
+    }
+}
@@ -0,0 +1,156 @@
+package com.burgerstream.backend.service.analytics;
+
+import com.burgerstream.backend.model.analytics.RollupGranularity;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// Keeps the per-minute and per-hour sales rollups up to date. Every created or deleted order adds its counts to its
+// buckets in the same transaction, with one batched upsert per rollup table, so the analytics endpoints never have to
+// read orders or order_items.
+@Service
+public class SalesRollupService {
+
+    private static final String ORDER_UPSERT = """
+            insert into order_rollups (granularity, bucket_start, order_count, revenue) values (?, ?, ?, ?)
+            on duplicate key update order_count = order_count + ?, revenue = revenue + ?""";
+
+    private static final String ITEM_UPSERT = """
+            insert into item_rollups (granularity, bucket_start, menu_item_id, size_option_id, quantity, revenue) values (?, ?, ?, ?, ?, ?)
+            on duplicate key update quantity = quantity + ?, revenue = revenue + ?""";
+
+    private static final long NO_SIZE = 0L;
+    private static final LocalDateTime BEFORE_ANY_ORDER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderRepository orderRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final EntityManager entityManager;
+
+    public SalesRollupService(JdbcTemplate jdbcTemplate,
+                              OrderRepository orderRepository,
+                              OrderArchiveService orderArchiveService,
+                              EntityManager entityManager){
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderRepository = orderRepository;
+        this.orderArchiveService = orderArchiveService;
+        this.entityManager = entityManager;
+    }
+
+    public void orderCreated(Order order){
+        Totals totals = new Totals();
+        totals.add(order, 1);
+        totals.write();
+    }
+
+    public void orderDeleted(Order order){
+        Totals totals = new Totals();
+        totals.add(order, -1);
+        totals.write();
+    }
+
+    public void ordersCreated(List<Order> orders){
+        Totals totals = new Totals();
+        orders.forEach(order -> totals.add(order, 1));
+        totals.write();
+    }
+
+    // Recomputes the rollups of every hour before the given one from the order history. Orders are dated when they are
+    // placed, so none lands in a bucket being rebuilt; hours up to the newest archived order are left alone, their
+    // orders are no longer in the table.
+    @Transactional
+    public void rebuildBefore(LocalDateTime before){
+        LocalDateTime from = orderArchiveService.archivedUpTo()
+                .map(date -> RollupGranularity.HOUR.bucketOf(date).plusHours(1))
+                .orElse(BEFORE_ANY_ORDER);
+        LocalDateTime to = RollupGranularity.HOUR.bucketOf(before);
+        if (!from.isBefore(to)) return;
+
+        jdbcTemplate.update("delete from order_rollups where bucket_start >= ? and bucket_start < ?", from, to);
+        jdbcTemplate.update("delete from item_rollups where bucket_start >= ? and bucket_start < ?", from, to);
+
+        Totals totals = new Totals();
+        try (Stream<Order> orders = orderRepository.streamAllBetween(from, to)) {
+            orders.forEach(order -> {
+                totals.add(order, 1);
+                entityManager.detach(order);
+            });
+        }
+        totals.write();
+    }
+
+    // Sorted like the primary keys (the granularity enum column sorts in declaration order, like the Java enum).
+    private record OrderBucket(RollupGranularity granularity, LocalDateTime bucketStart) {
+        private static final Comparator<OrderBucket> PRIMARY_KEY_ORDER = Comparator.comparing(OrderBucket::granularity)
+                .thenComparing(OrderBucket::bucketStart);
+    }
+
+    private record ItemBucket(RollupGranularity granularity, LocalDateTime bucketStart, long menuItemId, long sizeOptionId) {
+        private static final Comparator<ItemBucket> PRIMARY_KEY_ORDER = Comparator.comparing(ItemBucket::granularity)
+                .thenComparing(ItemBucket::bucketStart)
+                .thenComparingLong(ItemBucket::menuItemId)
+                .thenComparingLong(ItemBucket::sizeOptionId);
+    }
+
+    private static final class Sums {
+        private long count;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        private void add(long count, BigDecimal revenue){
+            this.count += count;
+            this.revenue = this.revenue.add(revenue);
+        }
+    }
+
+    // One row per bucket, written in primary key order so two orders sharing buckets can't deadlock.
+    private final class Totals {
+        private final Map<OrderBucket, Sums> orders = new TreeMap<>(OrderBucket.PRIMARY_KEY_ORDER);
+        private final Map<ItemBucket, Sums> items = new TreeMap<>(ItemBucket.PRIMARY_KEY_ORDER);
+
+        private void add(Order order, int sign){
+            BigDecimal orderRevenue = order.getOrderEndPrice() == null ? BigDecimal.ZERO : order.getOrderEndPrice();
+            for (RollupGranularity granularity : RollupGranularity.values()){
+                LocalDateTime bucketStart = granularity.bucketOf(order.getDate());
+                orders.computeIfAbsent(new OrderBucket(granularity, bucketStart), key -> new Sums())
+                        .add(sign, sign < 0 ? orderRevenue.negate() : orderRevenue);
+
+                for (OrderItem item : order.getOrderItems()){
+                    long sizeOptionId = item.getSizeOptionId() == null ? NO_SIZE : item.getSizeOptionId();
+                    BigDecimal itemRevenue = item.getItemEndPrice() == null ? BigDecimal.ZERO : item.getItemEndPrice();
+                    items.computeIfAbsent(new ItemBucket(granularity, bucketStart, item.getMenuItemId(), sizeOptionId), key -> new Sums())
+                            .add((long) sign * item.getAmount(), sign < 0 ? itemRevenue.negate() : itemRevenue);
+                }
+            }
+        }
+
+        private void write(){
+            List<Object[]> orderRows = new ArrayList<>(orders.size());
+            orders.forEach((bucket, sums) -> orderRows.add(new Object[]{
+                    bucket.granularity().name(), bucket.bucketStart(), sums.count, sums.revenue, sums.count, sums.revenue}));
+
+            List<Object[]> itemRows = new ArrayList<>(items.size());
+            items.forEach((bucket, sums) -> itemRows.add(new Object[]{
+                    bucket.granularity().name(), bucket.bucketStart(), bucket.menuItemId(), bucket.sizeOptionId(),
+                    sums.count, sums.revenue, sums.count, sums.revenue}));
+
+            // Flushed first so the contended rollup rows are locked only at the end of the transaction.
+            entityManager.flush();
+            if (!orderRows.isEmpty()) jdbcTemplate.batchUpdate(ORDER_UPSERT, orderRows);
+            if (!itemRows.isEmpty()) jdbcTemplate.batchUpdate(ITEM_UPSERT, itemRows);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.burgerstream.backend.service.analytics;
+
+import java.math.BigDecimal;
+
+// share is this size's part of the menu item's units sold, from 0 to 1.
+public record SizeMixEntry(Long menuItemId, String name, Long sizeOptionId, String sizeLabel,
+                           long quantity, BigDecimal revenue, double share) { }
@@ -0,0 +1,5 @@
+package com.burgerstream.backend.service.analytics;
+
+import java.math.BigDecimal;
+
+public record TopSellingItem(Long menuItemId, String name, long quantity, BigDecimal revenue) { }
@@ -0,0 +1,17 @@
+package com.burgerstream.backend.service.kitchen;
+
+// One event on the kitchen stream. The payload is serialized once when the event is published
+// and the same JSON is written to every subscriber.
+public record KitchenEvent(Long id, Type type, String data) {
+
+    public enum Type {
+        ORDER_CREATED,
+        ORDER_STATUS_CHANGED,
+        // The subscriber missed events that are no longer kept, it should reload the orders it shows.
+        RESYNC
+    }
+
+    static KitchenEvent resync(){
+        return new KitchenEvent(null, Type.RESYNC, "{}");
+    }
+}
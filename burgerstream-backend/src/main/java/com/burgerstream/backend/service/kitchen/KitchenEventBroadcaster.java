@@ -0,0 +1,215 @@
+package com.burgerstream.backend.service.kitchen;
+
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderStatus;
+import com.burgerstream.backend.service.AfterCommit;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fans order events out to kitchen screens. Publishing only appends to a bounded history and offers the event to
+// every subscriber's bounded buffer, each subscriber is written to from its own virtual thread so one slow screen
+// never holds up the others. A subscriber whose buffer is full is disconnected, it reconnects with its last event id
+// and resumes from the history.
+@Component
+public class KitchenEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenEventBroadcaster.class);
+
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final int historySize;
+    private final int bufferSize;
+    private final long heartbeatMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<KitchenEvent> history = new ArrayDeque<>();
+    private final List<Subscription> subscribers = new ArrayList<>();
+    // Ids continue from the start time, so an id a screen kept from before a restart is never reused.
+    private long lastEventId = System.currentTimeMillis();
+
+    public KitchenEventBroadcaster(MenuSnapshotCache menuSnapshotCache,
+                                   @Value("${burgerstream.kitchen.history-size:1000}") int historySize,
+                                   @Value("${burgerstream.kitchen.subscriber-buffer-size:256}") int bufferSize,
+                                   @Value("${burgerstream.kitchen.heartbeat-ms:15000}") long heartbeatMillis){
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    public void orderCreated(Order order){
+        publishAfterCommit(KitchenEvent.Type.ORDER_CREATED, KitchenOrder.from(order, menuSnapshotCache.current()));
+    }
+
+    public void orderStatusChanged(Long orderId, OrderStatus from, OrderStatus to){
+        publishAfterCommit(KitchenEvent.Type.ORDER_STATUS_CHANGED, new KitchenStatusChange(orderId, from, to));
+    }
+
+    // Screens must never see an order that is rolled back, so inside a transaction the event waits for the commit.
+    public void publishAfterCommit(KitchenEvent.Type type, Object payload){
+        AfterCommit.run(() -> publish(type, payload));
+    }
+
+    public KitchenEvent publish(KitchenEvent.Type type, Object payload){
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize kitchen event " + type, e);
+        }
+
+        KitchenEvent event;
+        List<Subscription> overflowed = new ArrayList<>();
+        lock.lock();
+        try {
+            event = new KitchenEvent(++lastEventId, type, data);
+            history.addLast(event);
+            if (history.size() > historySize){
+                history.removeFirst();
+            }
+            for (Subscription subscription : subscribers){
+                if (!subscription.buffer.offer(event)){
+                    overflowed.add(subscription);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Subscription subscription : overflowed){
+            log.debug("Kitchen subscriber fell {} events behind, disconnecting it", bufferSize);
+            subscription.cancel();
+        }
+        return event;
+    }
+
+    // Subscribes from lastEventId (exclusive), or from now on when it is null.
+    public Subscription subscribe(Long lastEventId, KitchenEventSink sink){
+        Subscription subscription = new Subscription(sink);
+        lock.lock();
+        try {
+            if (lastEventId != null){
+                replayInto(subscription, lastEventId);
+            }
+            subscribers.add(subscription);
+        } finally {
+            lock.unlock();
+        }
+        subscription.start();
+        return subscription;
+    }
+
+    public int getSubscriberCount(){
+        lock.lock();
+        try {
+            return subscribers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void closeAll(){
+        List<Subscription> open;
+        lock.lock();
+        try {
+            open = List.copyOf(subscribers);
+        } finally {
+            lock.unlock();
+        }
+        open.forEach(Subscription::cancel);
+    }
+
+    private void replayInto(Subscription subscription, long lastSeenId){
+        List<KitchenEvent> missed = history.stream().filter(event -> event.id() > lastSeenId).toList();
+
+        long oldestKeptId = history.isEmpty() ? this.lastEventId + 1 : history.peekFirst().id();
+        boolean gap = lastSeenId + 1 < oldestKeptId || lastSeenId > this.lastEventId;
+        if (missed.size() >= bufferSize){
+            gap = true;
+            missed = missed.subList(missed.size() - (bufferSize - 1), missed.size());
+        }
+
+        if (gap){
+            subscription.buffer.offer(KitchenEvent.resync());
+        }
+        missed.forEach(subscription.buffer::offer);
+    }
+
+    private void remove(Subscription subscription){
+        lock.lock();
+        try {
+            subscribers.remove(subscription);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public final class Subscription {
+
+        private final KitchenEventSink sink;
+        private final BlockingQueue<KitchenEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private Thread dispatcher;
+
+        private Subscription(KitchenEventSink sink){
+            this.sink = sink;
+        }
+
+        private void start(){
+            dispatcher = Thread.ofVirtual().name("kitchen-subscriber").start(this::dispatch);
+        }
+
+        public void cancel(){
+            if (!cancelled.compareAndSet(false, true)) return;
+            remove(this);
+            if (dispatcher != null){
+                dispatcher.interrupt();
+            }
+            sink.close();
+        }
+
+        private void dispatch(){
+            try {
+                while (!cancelled.get()){
+                    KitchenEvent event = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (event == null){
+                        sink.heartbeat();
+                    } else {
+                        sink.send(event);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                // The screen went away, it resumes from its last event id when it reconnects.
+                log.debug("Kitchen subscriber disconnected", e);
+            } finally {
+                cancel();
+            }
+        }
+    }
+}
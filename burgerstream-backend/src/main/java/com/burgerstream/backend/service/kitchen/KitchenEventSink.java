@@ -0,0 +1,14 @@
+package com.burgerstream.backend.service.kitchen;
+
+import java.io.IOException;
+
+// Where a subscriber's events are written, fx an SSE connection. Only ever called from the subscriber's own thread.
+public interface KitchenEventSink {
+
+    void send(KitchenEvent event) throws IOException;
+
+    // Written when nothing happened for a while, so dead connections are noticed.
+    void heartbeat() throws IOException;
+
+    void close();
+}
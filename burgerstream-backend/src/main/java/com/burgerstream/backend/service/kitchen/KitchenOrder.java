@@ -0,0 +1,31 @@
+package com.burgerstream.backend.service.kitchen;
+
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.service.menu.MenuSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// What a kitchen screen needs to show for an order. Names come from the menu snapshot,
+// so building it never touches lazy associations of the order after its transaction is gone.
+public record KitchenOrder(Long orderId, String reference, LocalDateTime date, String customerName, List<Line> lines) {
+
+    public record Line(Long menuItemId, String name, String size, Integer amount) { }
+
+    public static KitchenOrder from(Order order, MenuSnapshot menu){
+        List<Line> lines = order.getOrderItems().stream()
+                .map(item -> line(item, menu))
+                .toList();
+        return new KitchenOrder(order.getId(), order.getReference(), order.getDate(), order.getCustomerName(), lines);
+    }
+
+    private static Line line(OrderItem item, MenuSnapshot menu){
+        String name = menu.findMenuItem(item.getMenuItemId()).map(MenuItem::getName).orElse(null);
+        String size = item.getSizeOptionId() == null ? null
+                : menu.findSizeOption(item.getSizeOptionId()).map(SizeOption::getSizeLabel).orElse(null);
+        return new Line(item.getMenuItemId(), name, size, item.getAmount());
+    }
+}
@@ -0,0 +1,5 @@
+package com.burgerstream.backend.service.kitchen;
+
+import com.burgerstream.backend.model.order.OrderStatus;
+
+public record KitchenStatusChange(Long orderId, OrderStatus from, OrderStatus to) { }
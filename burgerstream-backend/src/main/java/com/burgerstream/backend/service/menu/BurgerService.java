@@ -1,25 +1,32 @@
 package com.burgerstream.backend.service.menu;
 
 import com.burgerstream.backend.component.MenuItemValidator;
+import com.burgerstream.backend.component.OptimisticLockRetry;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.Burger;
 import com.burgerstream.backend.repository.menu.BurgerRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class BurgerService {
 
     private final BurgerRepository burgerRepository;
     private final MenuItemValidator validator;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final OptimisticLockRetry optimisticLockRetry;
 
-    public BurgerService(BurgerRepository burgerRepository, MenuItemValidator validator){
+    public BurgerService(BurgerRepository burgerRepository, MenuItemValidator validator, MenuSnapshotCache menuSnapshotCache, OptimisticLockRetry optimisticLockRetry){
         this.burgerRepository = burgerRepository;
         this.validator = validator;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.optimisticLockRetry = optimisticLockRetry;
     }
 
     public Burger createBurger(Burger burger){
@@ -28,7 +35,7 @@ public class BurgerService {
     }
 
     public Burger getBurger(Long id){
-        return burgerRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Burger with id: " + id + " does not exist"));
+        return menuSnapshotCache.current().findBurger(id).orElseThrow(() -> new ResourceNotFoundException("Burger with id: " + id + " does not exist"));
     }
 
     public List<Burger> getFilteredBurgers(Boolean vegan, Boolean chicken, Boolean lactoseFree){
@@ -38,37 +45,31 @@ public class BurgerService {
 
         if (vegan && chicken) return new ArrayList<>();
 
-        if (vegan) {
-            return burgerRepository.findByIsVeganTrue();
-        }
+        Set<MenuFlag> flags = EnumSet.noneOf(MenuFlag.class);
+        if (vegan) flags.add(MenuFlag.VEGAN);
+        if (chicken) flags.add(MenuFlag.CHICKEN);
+        if (lactoseFree) flags.add(MenuFlag.LACTOSE_FREE);
 
-        if (chicken && lactoseFree){
-            return burgerRepository.findByIsChickenTrueAndIsLactoseFreeTrue();
-        } else if (chicken) {
-            return burgerRepository.findByIsChickenTrue();
-        }
-
-        if (lactoseFree) {
-            return burgerRepository.findByIsLactoseFreeTrue();
-        }
-
-        return burgerRepository.findAll();
+        return menuSnapshotCache.current().getBurgerIndex().filter(flags);
     }
 
     public Burger updateBurger(Long id, Burger newBurgerDetails){
-        Burger oldBurgerDetails = burgerRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Burger with id: " + id + " does not exist"));
-        validator.validate(newBurgerDetails);
-
-        oldBurgerDetails.setName(newBurgerDetails.getName());
-        oldBurgerDetails.setDescription(newBurgerDetails.getDescription());
-        oldBurgerDetails.setBasePrice(newBurgerDetails.getBasePrice());
-        oldBurgerDetails.setImageURL(newBurgerDetails.getImageURL());
-        oldBurgerDetails.setVegan(newBurgerDetails.getVegan());
-        oldBurgerDetails.setChicken(newBurgerDetails.getChicken());
-        oldBurgerDetails.setLactoseFree(newBurgerDetails.getLactoseFree());
-
-
-        return burgerRepository.save(oldBurgerDetails);
+        return optimisticLockRetry.run("Burger with id: " + id, () -> {
+            Burger oldBurgerDetails = burgerRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Burger with id: " + id + " does not exist"));
+            validator.validate(newBurgerDetails);
+            OptimisticLockRetry.checkVersion("Burger with id: " + id, newBurgerDetails.getVersion(), oldBurgerDetails.getVersion());
+
+            oldBurgerDetails.setName(newBurgerDetails.getName());
+            oldBurgerDetails.setDescription(newBurgerDetails.getDescription());
+            oldBurgerDetails.setBasePrice(newBurgerDetails.getBasePrice());
+            oldBurgerDetails.setImageURL(newBurgerDetails.getImageURL());
+            oldBurgerDetails.setVegan(newBurgerDetails.getVegan());
+            oldBurgerDetails.setChicken(newBurgerDetails.getChicken());
+            oldBurgerDetails.setLactoseFree(newBurgerDetails.getLactoseFree());
+
+
+            return burgerRepository.save(oldBurgerDetails);
+        });
     }
 
     public Map<String, Boolean> deleteBurger(Long id){
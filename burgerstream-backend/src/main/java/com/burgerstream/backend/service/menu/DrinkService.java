@@ -1,13 +1,18 @@
 package com.burgerstream.backend.service.menu;
 
 import com.burgerstream.backend.component.MenuItemValidator;
+import com.burgerstream.backend.component.OptimisticLockRetry;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.Drink;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.repository.menu.DrinkRepository;
 import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,11 +24,18 @@ public class DrinkService {
     private final DrinkRepository drinkRepository;
     private final SizeOptionRepository sizeOptionRepository;
     private final MenuItemValidator validator;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final EntityManager entityManager;
 
-    public DrinkService(DrinkRepository drinkRepository, SizeOptionRepository sizeOptionRepository, MenuItemValidator validator){
+    public DrinkService(DrinkRepository drinkRepository, SizeOptionRepository sizeOptionRepository, MenuItemValidator validator, MenuSnapshotCache menuSnapshotCache,
+                        OptimisticLockRetry optimisticLockRetry, EntityManager entityManager){
         this.drinkRepository = drinkRepository;
         this.sizeOptionRepository = sizeOptionRepository;
         this.validator = validator;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.entityManager = entityManager;
     }
 
     public Drink createDrink(Drink drink){
@@ -32,36 +44,32 @@ public class DrinkService {
     }
 
     public List<Drink> getFilteredDrinks(Boolean carbonated, Boolean lactoseFree){
-        if (Boolean.TRUE.equals(carbonated) && Boolean.TRUE.equals(lactoseFree)){
-            return drinkRepository.findByIsCarbonatedTrueAndIsLactoseFreeTrue();
+        Set<MenuFlag> flags = EnumSet.noneOf(MenuFlag.class);
+        if (Boolean.TRUE.equals(carbonated)) flags.add(MenuFlag.CARBONATED);
+        if (Boolean.TRUE.equals(lactoseFree)) flags.add(MenuFlag.LACTOSE_FREE);
 
-        } else if (Boolean.TRUE.equals(carbonated)) {
-            return drinkRepository.findByIsCarbonatedTrue();
-
-        } else if (Boolean.TRUE.equals(lactoseFree)) {
-            return drinkRepository.findByIsLactoseFreeTrue();
-
-        } else {
-            return drinkRepository.findAll();
-        }
+        return menuSnapshotCache.current().getDrinkIndex().filter(flags);
     }
 
     public Drink getDrink(Long id){
-        return drinkRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Drink with id: " + id + " does not exist"));
+        return menuSnapshotCache.current().findDrink(id).orElseThrow( () -> new ResourceNotFoundException("Drink with id: " + id + " does not exist"));
     }
 
     public Drink updateDrink(Long id, Drink newDrinkDetails){
-        Drink oldDrinkDetails = drinkRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Drink with id: " + id + " does not exist"));
-        validator.validate(newDrinkDetails);
-
-        oldDrinkDetails.setName(newDrinkDetails.getName());
-        oldDrinkDetails.setDescription(newDrinkDetails.getDescription());
-        oldDrinkDetails.setBasePrice(newDrinkDetails.getBasePrice());
-        oldDrinkDetails.setImageURL(newDrinkDetails.getImageURL());
-        oldDrinkDetails.setCarbonated(newDrinkDetails.getCarbonated());
-        oldDrinkDetails.setLactoseFree(newDrinkDetails.getLactoseFree());
-
-        return drinkRepository.save(oldDrinkDetails);
+        return optimisticLockRetry.run("Drink with id: " + id, () -> {
+            Drink oldDrinkDetails = drinkRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Drink with id: " + id + " does not exist"));
+            validator.validate(newDrinkDetails);
+            OptimisticLockRetry.checkVersion("Drink with id: " + id, newDrinkDetails.getVersion(), oldDrinkDetails.getVersion());
+
+            oldDrinkDetails.setName(newDrinkDetails.getName());
+            oldDrinkDetails.setDescription(newDrinkDetails.getDescription());
+            oldDrinkDetails.setBasePrice(newDrinkDetails.getBasePrice());
+            oldDrinkDetails.setImageURL(newDrinkDetails.getImageURL());
+            oldDrinkDetails.setCarbonated(newDrinkDetails.getCarbonated());
+            oldDrinkDetails.setLactoseFree(newDrinkDetails.getLactoseFree());
+
+            return drinkRepository.save(oldDrinkDetails);
+        });
     }
 
     public Map<String, Boolean> deleteDrink(Long id){
@@ -75,26 +83,31 @@ public class DrinkService {
     }
 
     public Set<SizeOption> getDrinkSizes(Long id){
-        Drink drink = drinkRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Drink with id: " + id + " does not exist"));
-        return drink.getSizeOptions();
+        Drink drink = menuSnapshotCache.current().findDrink(id).orElseThrow( () -> new ResourceNotFoundException("Drink with id: " + id + " does not exist"));
+        return Collections.unmodifiableSet(drink.getSizeOptions());
     }
 
+    // Writes only the one join row, the drink itself is not loaded with its sizes or saved, so its version stays as it is.
+    @Transactional
     public Drink addDrinkSizeOption(Long id, Long sizeId){
         Drink drink = drinkRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Drink with id: " + id + " does not exist"));
-        SizeOption size = sizeOptionRepository.findById(sizeId).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + sizeId + " does not exist"));
+        if (!sizeOptionRepository.existsById(sizeId)) throw new ResourceNotFoundException("Size with id: " + sizeId + " does not exist");
 
-        drink.getSizeOptions().add(size);
-
-        return drinkRepository.save(drink);
+        drinkRepository.addSizeOption(id, sizeId);
+        entityManager.refresh(drink);
+        menuSnapshotCache.invalidate();
+        return drink;
     }
 
+    @Transactional
     public Drink removeDrinkSizeOption(Long id, Long sizeId){
         Drink drink = drinkRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Drink with id: " + id + " does not exist"));
-        SizeOption size = sizeOptionRepository.findById(sizeId).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + sizeId + " does not exist"));
+        if (!sizeOptionRepository.existsById(sizeId)) throw new ResourceNotFoundException("Size with id: " + sizeId + " does not exist");
 
-        drink.getSizeOptions().remove(size);
-
-        return drinkRepository.save(drink);
+        drinkRepository.removeSizeOption(id, sizeId);
+        entityManager.refresh(drink);
+        menuSnapshotCache.invalidate();
+        return drink;
     }
 
 }
\ No newline at end of file
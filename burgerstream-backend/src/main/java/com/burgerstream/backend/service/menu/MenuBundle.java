@@ -0,0 +1,5 @@
+package com.burgerstream.backend.service.menu;
+
+// The whole menu, menu items and size options, serialized once for one menu version. Kept as plain and as
+// gzip-compressed JSON so a request only copies the bytes for the encoding it asked for.
+public record MenuBundle(long version, byte[] json, byte[] gzip) { }
@@ -0,0 +1,84 @@
+package com.burgerstream.backend.service.menu;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Serializes and compresses the menu snapshot once per menu version instead of on every request. The bundle is
+// compiled at startup and again on the first request after a menu change, like the snapshot it is built from.
+@Component
+public class MenuBundleCache {
+
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<MenuBundle> bundle = new AtomicReference<>();
+    // Compiling serializes the whole menu, one request does it while the others wait for the result.
+    private final ReentrantLock compileLock = new ReentrantLock();
+
+    public MenuBundleCache(MenuSnapshotCache menuSnapshotCache, ObjectMapper objectMapper){
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompile(){
+        current();
+    }
+
+    public MenuBundle current(){
+        MenuBundle currentBundle = bundle.get();
+        if (currentBundle != null && currentBundle.version() == menuSnapshotCache.currentVersion()){
+            return currentBundle;
+        }
+
+        compileLock.lock();
+        try {
+            MenuSnapshot snapshot = menuSnapshotCache.current();
+            currentBundle = bundle.get();
+            if (currentBundle != null && currentBundle.version() == snapshot.getVersion()){
+                return currentBundle;
+            }
+            MenuBundle compiled = compile(snapshot);
+            bundle.set(compiled);
+            return compiled;
+        } finally {
+            compileLock.unlock();
+        }
+    }
+
+    private MenuBundle compile(MenuSnapshot snapshot){
+        Map<String, Object> menu = new LinkedHashMap<>();
+        menu.put("version", snapshot.getVersion());
+        menu.put("menuItems", snapshot.getMenuItems());
+        menu.put("sizeOptions", snapshot.getSizeOptions());
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(menu);
+            return new MenuBundle(snapshot.getVersion(), json, gzip(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compile the menu bundle", e);
+        }
+    }
+
+    // Compressed once per menu version, so the slowest and smallest level is worth it.
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (OutputStream gzip = new GZIPOutputStream(compressed) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(json);
+        }
+        return compressed.toByteArray();
+    }
+}
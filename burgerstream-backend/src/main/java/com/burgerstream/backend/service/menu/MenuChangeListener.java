@@ -0,0 +1,24 @@
+package com.burgerstream.backend.service.menu;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// JPA entity listener on menu items and size options. Hibernate creates it through Spring,
+// the cache is looked up lazily because not every context (fx slice tests) has one.
+public class MenuChangeListener {
+
+    private final ObjectProvider<MenuSnapshotCache> menuSnapshotCache;
+
+    public MenuChangeListener(ObjectProvider<MenuSnapshotCache> menuSnapshotCache){
+        this.menuSnapshotCache = menuSnapshotCache;
+    }
+
+    @PrePersist
+    @PreUpdate
+    @PreRemove
+    public void onMenuChange(Object entity){
+        menuSnapshotCache.ifAvailable(MenuSnapshotCache::invalidate);
+    }
+}
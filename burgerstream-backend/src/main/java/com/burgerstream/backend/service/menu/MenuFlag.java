@@ -0,0 +1,29 @@
+package com.burgerstream.backend.service.menu;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.Side;
+
+import java.util.function.Predicate;
+
+// The boolean attributes of the menu item types that can be filtered on.
+// Adding a flag here makes it available to every filter, no new repository method is needed.
+public enum MenuFlag {
+    VEGAN(item -> item instanceof Burger burger && Boolean.TRUE.equals(burger.getVegan())),
+    CHICKEN(item -> item instanceof Burger burger && Boolean.TRUE.equals(burger.getChicken())),
+    LACTOSE_FREE(item -> (item instanceof Burger burger && Boolean.TRUE.equals(burger.getLactoseFree()))
+            || (item instanceof Drink drink && Boolean.TRUE.equals(drink.getLactoseFree()))),
+    CARBONATED(item -> item instanceof Drink drink && Boolean.TRUE.equals(drink.getCarbonated())),
+    SHAREABLE(item -> item instanceof Side side && Boolean.TRUE.equals(side.getShareable()));
+
+    private final Predicate<MenuItem> extractor;
+
+    MenuFlag(Predicate<MenuItem> extractor){
+        this.extractor = extractor;
+    }
+
+    public boolean isSetOn(MenuItem item){
+        return extractor.test(item);
+    }
+}
@@ -0,0 +1,71 @@
+package com.burgerstream.backend.service.menu;
+
+import com.burgerstream.backend.model.menu.MenuItem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bitmap index over the MenuFlags of a fixed list of menu items. Bit i of a flag's bitmap is set
+// when the i'th item has that flag, so any AND/OR combination of flags is answered with bitwise operations.
+public final class MenuFlagIndex<T extends MenuItem> {
+
+    private final List<T> items;
+    private final Map<MenuFlag, BitSet> bitmaps = new EnumMap<>(MenuFlag.class);
+
+    public MenuFlagIndex(List<T> items){
+        this.items = List.copyOf(items);
+        for (MenuFlag flag : MenuFlag.values()){
+            BitSet bitmap = new BitSet(this.items.size());
+            for (int i = 0; i < this.items.size(); i++){
+                if (flag.isSetOn(this.items.get(i))){
+                    bitmap.set(i);
+                }
+            }
+            bitmaps.put(flag, bitmap);
+        }
+    }
+
+    public List<T> filter(Set<MenuFlag> allOf){
+        return filter(allOf, Set.of());
+    }
+
+    // Items that have every flag in allOf and, when anyOf is not empty, at least one flag in anyOf.
+    public List<T> filter(Set<MenuFlag> allOf, Set<MenuFlag> anyOf){
+        boolean noAllOf = allOf == null || allOf.isEmpty();
+        boolean noAnyOf = anyOf == null || anyOf.isEmpty();
+        if (noAllOf && noAnyOf){
+            return items;
+        }
+
+        BitSet result = new BitSet(items.size());
+        result.set(0, items.size());
+
+        if (!noAllOf){
+            for (MenuFlag flag : allOf){
+                result.and(bitmaps.get(flag));
+            }
+        }
+
+        if (!noAnyOf){
+            BitSet any = new BitSet(items.size());
+            for (MenuFlag flag : anyOf){
+                any.or(bitmaps.get(flag));
+            }
+            result.and(any);
+        }
+
+        List<T> matches = new ArrayList<>(result.cardinality());
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)){
+            matches.add(items.get(i));
+        }
+        return List.copyOf(matches);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+}
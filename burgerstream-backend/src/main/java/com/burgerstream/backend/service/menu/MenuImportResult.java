@@ -0,0 +1,14 @@
+package com.burgerstream.backend.service.menu;
+
+import java.util.List;
+
+// Rows that failed validation are skipped and listed in errors (up to a limit), the others are imported.
+public record MenuImportResult(int itemsCreated,
+                               int itemsUpdated,
+                               int sizeOptionsCreated,
+                               int sizeOptionsUpdated,
+                               int rowsRejected,
+                               List<RowError> errors) {
+
+    public record RowError(long row, String message) { }
+}
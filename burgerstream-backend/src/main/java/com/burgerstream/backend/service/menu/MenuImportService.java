@@ -0,0 +1,357 @@
+package com.burgerstream.backend.service.menu;
+
+import com.burgerstream.backend.component.MenuItemValidator;
+import com.burgerstream.backend.exception.InvalidSizeOptionException;
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.repository.menu.MenuItemRepository;
+import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk import and export of the whole menu as JSON or CSV. The document is parsed one row at a time and written in
+// chunks of batch-size rows, each chunk in its own transaction, so a menu of any size is never held in memory at once.
+// Rows are matched on their natural key (see MenuRow): an existing size option or menu item is updated, anything else
+// is created, so importing the same document twice changes nothing.
+@Service
+public class MenuImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final MenuItemRepository menuItemRepository;
+    private final SizeOptionRepository sizeOptionRepository;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuItemValidator validator;
+    private final SizeOptionService sizeOptionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    public MenuImportService(MenuItemRepository menuItemRepository,
+                             SizeOptionRepository sizeOptionRepository,
+                             MenuSnapshotCache menuSnapshotCache,
+                             MenuItemValidator validator,
+                             SizeOptionService sizeOptionService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${burgerstream.menu.import.batch-size:200}") int batchSize){
+        this.menuItemRepository = menuItemRepository;
+        this.sizeOptionRepository = sizeOptionRepository;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.validator = validator;
+        this.sizeOptionService = sizeOptionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // A JSON array of rows.
+    public MenuImportResult importJson(InputStream in) throws IOException {
+        return importRows(jsonMapper.readerFor(MenuRow.class), in);
+    }
+
+    // A CSV document with a header line naming the MenuRow columns, in any order.
+    public MenuImportResult importCsv(InputStream in) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader().withArrayElementSeparator(MenuRow.SIZE_SEPARATOR);
+        return importRows(csvMapper.readerFor(MenuRow.class).with(schema), in);
+    }
+
+    public void exportJson(OutputStream out) throws IOException {
+        try (SequenceWriter writer = jsonMapper.writer().writeValuesAsArray(out)) {
+            writeMenu(writer);
+        }
+    }
+
+    public void exportCsv(OutputStream out) throws IOException {
+        CsvSchema schema = csvMapper.schemaFor(MenuRow.class).withHeader().withArrayElementSeparator(MenuRow.SIZE_SEPARATOR);
+        ObjectWriter csvWriter = csvMapper.writer(schema);
+        try (SequenceWriter writer = csvWriter.writeValues(out)) {
+            writeMenu(writer);
+        }
+    }
+
+    // Size options first, so the export can be imported again as it is.
+    private void writeMenu(SequenceWriter writer) throws IOException {
+        MenuSnapshot snapshot = menuSnapshotCache.current();
+        for (SizeOption sizeOption : snapshot.getSizeOptions()) writer.write(MenuRow.of(sizeOption));
+        for (Burger burger : snapshot.getBurgers()) writer.write(MenuRow.of(burger));
+        for (Drink drink : snapshot.getDrinks()) writer.write(MenuRow.of(drink));
+        for (Side side : snapshot.getSides()) writer.write(MenuRow.of(side));
+    }
+
+    private MenuImportResult importRows(ObjectReader reader, InputStream in) throws IOException {
+        Progress progress = new Progress(menuSnapshotCache.current());
+        List<NumberedRow> chunk = new ArrayList<>(batchSize);
+        long rowNumber = 0;
+
+        try (MappingIterator<MenuRow> rows = reader.readValues(in)) {
+            while (true) {
+                MenuRow row;
+                try {
+                    if (!rows.hasNextValue()) break;
+                    rowNumber++;
+                    row = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // The document itself is broken, there is no next row to continue from.
+                    progress.reject(rowNumber, "Malformed document, import stopped: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    progress.reject(rowNumber, "Unreadable row: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                chunk.add(new NumberedRow(rowNumber, row));
+                if (chunk.size() == batchSize){
+                    importChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()){
+            importChunk(chunk, progress);
+        }
+        return progress.result();
+    }
+
+    private void importChunk(List<NumberedRow> rows, Progress progress){
+        Chunk chunk = new Chunk(progress);
+        try {
+            transactionTemplate.executeWithoutResult(status -> chunk.write(rows));
+        } catch (RuntimeException e) {
+            log.warn("Menu import chunk of rows {}-{} was rolled back", rows.getFirst().number(), rows.getLast().number(), e);
+            for (NumberedRow row : rows){
+                progress.reject(row.number(), "Not imported, its batch was rolled back: " + e.getMessage());
+            }
+            return;
+        }
+        // Only what was committed becomes visible to the following chunks.
+        progress.merge(chunk);
+    }
+
+    private record NumberedRow(long number, MenuRow row) { }
+
+    // Natural key to id lookups and the running totals, across all chunks of one import.
+    private static final class Progress {
+        private final Map<String, Long> sizeOptionIds = new HashMap<>();
+        private final Map<String, Long> menuItemIds = new HashMap<>();
+        private final List<MenuImportResult.RowError> errors = new ArrayList<>();
+        private int itemsCreated;
+        private int itemsUpdated;
+        private int sizeOptionsCreated;
+        private int sizeOptionsUpdated;
+        private int rowsRejected;
+
+        private Progress(MenuSnapshot snapshot){
+            for (SizeOption sizeOption : snapshot.getSizeOptions()){
+                sizeOptionIds.putIfAbsent(MenuRow.sizeKey(sizeOption.getLabel(), sizeOption.getSizeLabel()), sizeOption.getId());
+            }
+            snapshot.getBurgers().forEach(burger -> menuItemIds.putIfAbsent(MenuRow.itemKey(MenuRow.Type.BURGER, burger.getName()), burger.getId()));
+            snapshot.getDrinks().forEach(drink -> menuItemIds.putIfAbsent(MenuRow.itemKey(MenuRow.Type.DRINK, drink.getName()), drink.getId()));
+            snapshot.getSides().forEach(side -> menuItemIds.putIfAbsent(MenuRow.itemKey(MenuRow.Type.SIDE, side.getName()), side.getId()));
+        }
+
+        private void reject(long rowNumber, String message){
+            rowsRejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS){
+                errors.add(new MenuImportResult.RowError(rowNumber, message));
+            }
+        }
+
+        private void merge(Chunk chunk){
+            sizeOptionIds.putAll(chunk.newSizeOptionIds);
+            menuItemIds.putAll(chunk.newMenuItemIds);
+            itemsCreated += chunk.itemsCreated;
+            itemsUpdated += chunk.itemsUpdated;
+            sizeOptionsCreated += chunk.sizeOptionsCreated;
+            sizeOptionsUpdated += chunk.sizeOptionsUpdated;
+            chunk.rejected.forEach(error -> reject(error.row(), error.message()));
+        }
+
+        private MenuImportResult result(){
+            return new MenuImportResult(itemsCreated, itemsUpdated, sizeOptionsCreated, sizeOptionsUpdated, rowsRejected, List.copyOf(errors));
+        }
+    }
+
+    // One transaction's worth of rows. Counts and new keys stay here until the transaction has committed.
+    private final class Chunk {
+        private final Progress progress;
+        private final Map<String, Long> newSizeOptionIds = new HashMap<>();
+        private final Map<String, Long> newMenuItemIds = new HashMap<>();
+        private final Map<Long, SizeOption> sizeOptions = new HashMap<>();
+        private final Map<Long, MenuItem> menuItems = new HashMap<>();
+        private final List<MenuImportResult.RowError> rejected = new ArrayList<>();
+        private int itemsCreated;
+        private int itemsUpdated;
+        private int sizeOptionsCreated;
+        private int sizeOptionsUpdated;
+
+        private Chunk(Progress progress){
+            this.progress = progress;
+        }
+
+        private void write(List<NumberedRow> rows){
+            loadExisting(rows);
+            for (NumberedRow numberedRow : rows){
+                try {
+                    MenuRow row = numberedRow.row();
+                    if (row.type() == null) throw new IllegalArgumentException("Row is missing a type");
+                    if (row.type() == MenuRow.Type.SIZE){
+                        writeSizeOption(row);
+                    } else {
+                        writeMenuItem(row);
+                    }
+                } catch (IllegalArgumentException | InvalidSizeOptionException e) {
+                    rejected.add(new MenuImportResult.RowError(numberedRow.number(), e.getMessage()));
+                }
+            }
+            menuSnapshotCache.invalidate();
+        }
+
+        // One query per table for everything in the chunk that already exists.
+        private void loadExisting(List<NumberedRow> rows){
+            Set<Long> sizeOptionIds = new HashSet<>();
+            Set<Long> menuItemIds = new HashSet<>();
+            for (NumberedRow numberedRow : rows){
+                MenuRow row = numberedRow.row();
+                if (row.type() == null) continue;
+                Long id = idOf(row);
+                if (id == null) continue;
+                if (row.type() == MenuRow.Type.SIZE) sizeOptionIds.add(id); else menuItemIds.add(id);
+            }
+            if (!sizeOptionIds.isEmpty()){
+                sizeOptionRepository.findAllById(sizeOptionIds).forEach(sizeOption -> sizeOptions.put(sizeOption.getId(), sizeOption));
+            }
+            if (!menuItemIds.isEmpty()){
+                menuItemRepository.findAllById(menuItemIds).forEach(item -> menuItems.put(item.getId(), item));
+            }
+        }
+
+        private Long idOf(MenuRow row){
+            String key = row.key();
+            if (row.type() == MenuRow.Type.SIZE){
+                Long id = newSizeOptionIds.get(key);
+                return id != null ? id : progress.sizeOptionIds.get(key);
+            }
+            Long id = newMenuItemIds.get(key);
+            return id != null ? id : progress.menuItemIds.get(key);
+        }
+
+        private void writeSizeOption(MenuRow row){
+            SizeOption imported = row.toSizeOption();
+            sizeOptionService.checkForMissingAttributes(imported);
+
+            SizeOption existing = sizeOptions.get(idOf(row));
+            if (existing != null){
+                existing.setExtraPrice(imported.getExtraPrice());
+                sizeOptionsUpdated++;
+            } else {
+                SizeOption saved = sizeOptionRepository.save(imported);
+                sizeOptions.put(saved.getId(), saved);
+                newSizeOptionIds.put(row.key(), saved.getId());
+                sizeOptionsCreated++;
+            }
+        }
+
+        private void writeMenuItem(MenuRow row){
+            MenuItem imported = row.toMenuItem();
+            validator.validate(imported);
+            Set<SizeOption> sizes = resolveSizes(row);
+
+            MenuItem existing = menuItems.get(idOf(row));
+            if (existing != null){
+                copyDetails(imported, existing, sizes);
+                itemsUpdated++;
+            } else {
+                setSizes(imported, sizes);
+                MenuItem saved = menuItemRepository.save(imported);
+                menuItems.put(saved.getId(), saved);
+                newMenuItemIds.put(row.key(), saved.getId());
+                itemsCreated++;
+            }
+        }
+
+        // Null when the row leaves the sizes out, an existing item then keeps the ones it has.
+        private Set<SizeOption> resolveSizes(MenuRow row){
+            List<String> keys = row.sizeKeys();
+            if (keys == null) return null;
+            if (row.type() == MenuRow.Type.BURGER && !keys.isEmpty()){
+                throw new IllegalArgumentException("Burgers have no size options");
+            }
+
+            Set<SizeOption> sizes = new HashSet<>();
+            for (String key : keys){
+                Long id = newSizeOptionIds.get(key);
+                if (id == null) id = progress.sizeOptionIds.get(key);
+                if (id == null) throw new IllegalArgumentException("Unknown size option " + key);
+                SizeOption loaded = sizeOptions.get(id);
+                sizes.add(loaded != null ? loaded : sizeOptionRepository.getReferenceById(id));
+            }
+            return sizes;
+        }
+
+        // The order of the burger flags matters, setVegan also changes lactoseFree and chicken.
+        private void copyDetails(MenuItem from, MenuItem to, Set<SizeOption> sizes){
+            to.setDescription(from.getDescription());
+            to.setBasePrice(from.getBasePrice());
+            to.setImageURL(from.getImageURL());
+            switch (to) {
+                case Burger burger -> {
+                    Burger source = (Burger) from;
+                    burger.setVegan(source.getVegan());
+                    burger.setChicken(source.getChicken());
+                    burger.setLactoseFree(source.getLactoseFree());
+                }
+                case Drink drink -> {
+                    Drink source = (Drink) from;
+                    drink.setCarbonated(source.getCarbonated());
+                    drink.setLactoseFree(source.getLactoseFree());
+                }
+                case Side side -> side.setShareable(((Side) from).getShareable());
+                default -> { }
+            }
+            setSizes(to, sizes);
+        }
+
+        private void setSizes(MenuItem item, Set<SizeOption> sizes){
+            if (sizes == null) return;
+            if (item instanceof Drink drink) drink.setSizeOptions(sizes);
+            if (item instanceof Side side) side.setSizeOptions(sizes);
+        }
+    }
+}
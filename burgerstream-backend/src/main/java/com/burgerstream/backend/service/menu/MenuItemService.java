@@ -2,25 +2,29 @@ package com.burgerstream.backend.service.menu;
 
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.MenuItem;
-import com.burgerstream.backend.repository.menu.MenuItemRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class MenuItemService {
 
-    private final MenuItemRepository menuItemRepository;
+    private final MenuSnapshotCache menuSnapshotCache;
 
-    public MenuItemService(MenuItemRepository menuItemRepository){
-        this.menuItemRepository = menuItemRepository;
+    public MenuItemService(MenuSnapshotCache menuSnapshotCache){
+        this.menuSnapshotCache = menuSnapshotCache;
     }
 
     public List<MenuItem> getAllMenuItems(){
-        return menuItemRepository.findAll();
+        return menuSnapshotCache.current().getMenuItems();
+    }
+
+    public List<MenuItem> getFilteredMenuItems(Set<MenuFlag> allOf, Set<MenuFlag> anyOf){
+        return menuSnapshotCache.current().getMenuItemIndex().filter(allOf, anyOf);
     }
 
     public MenuItem getMenuItem(Long id){
-        return menuItemRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Menu Item with id: " + id + " does not exist"));
+        return menuSnapshotCache.current().findMenuItem(id).orElseThrow( () -> new ResourceNotFoundException("Menu Item with id: " + id + " does not exist"));
     }
 }
\ No newline at end of file
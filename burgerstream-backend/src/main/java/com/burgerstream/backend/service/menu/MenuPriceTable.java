@@ -0,0 +1,64 @@
+package com.burgerstream.backend.service.menu;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.menu.SizeOption;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Unit prices in cents for every orderable (menu item, size option) combination of a MenuSnapshot.
+// A menu item without a size is stored under size id 0, ids handed out by the sequences start at 1.
+public final class MenuPriceTable {
+
+    public static final long NO_SIZE = 0L;
+
+    private final Map<PriceKey, Long> unitPriceCents;
+
+    private record PriceKey(long menuItemId, long sizeOptionId) { }
+
+    public MenuPriceTable(List<Burger> burgers, List<Drink> drinks, List<Side> sides){
+        Map<PriceKey, Long> prices = new HashMap<>();
+        for (Burger burger : burgers){
+            addPrices(prices, burger, Set.of());
+        }
+        for (Drink drink : drinks){
+            addPrices(prices, drink, drink.getSizeOptions());
+        }
+        for (Side side : sides){
+            addPrices(prices, side, side.getSizeOptions());
+        }
+        this.unitPriceCents = Map.copyOf(prices);
+    }
+
+    // Unit price in cents, or -1 when the item does not exist or is not offered in that size.
+    public long unitPriceCents(long menuItemId, long sizeOptionId){
+        Long price = unitPriceCents.get(new PriceKey(menuItemId, sizeOptionId));
+        return price == null ? -1 : price;
+    }
+
+    public static BigDecimal fromCents(long cents){
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static void addPrices(Map<PriceKey, Long> prices, MenuItem item, Set<SizeOption> sizes){
+        if (item.getBasePrice() == null) return;
+
+        long baseCents = toCents(item.getBasePrice());
+        prices.put(new PriceKey(item.getId(), NO_SIZE), baseCents);
+        for (SizeOption size : sizes){
+            if (size.getExtraPrice() == null) continue;
+            prices.put(new PriceKey(item.getId(), size.getId()), baseCents + toCents(size.getExtraPrice()));
+        }
+    }
+
+    private static long toCents(BigDecimal price){
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
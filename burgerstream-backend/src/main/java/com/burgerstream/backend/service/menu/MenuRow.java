@@ -0,0 +1,130 @@
+package com.burgerstream.backend.service.menu;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+// One line of a bulk menu document, the same shape for JSON and CSV. Size rows use label, sizeLabel and extraPrice,
+// menu item rows refer to their sizes as "label/sizeLabel" (separated by | in a CSV cell).
+// Size options are matched on (label, sizeLabel), menu items on (type, name).
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"type", "name", "description", "basePrice", "imageUrl", "vegan", "chicken", "lactoseFree",
+        "carbonated", "shareable", "label", "sizeLabel", "extraPrice", "sizes"})
+public record MenuRow(Type type,
+                      String name,
+                      String description,
+                      BigDecimal basePrice,
+                      String imageUrl,
+                      Boolean vegan,
+                      Boolean chicken,
+                      Boolean lactoseFree,
+                      Boolean carbonated,
+                      Boolean shareable,
+                      String label,
+                      String sizeLabel,
+                      BigDecimal extraPrice,
+                      @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+                      List<String> sizes) {
+
+    public enum Type { SIZE, BURGER, DRINK, SIDE }
+
+    public static final String SIZE_SEPARATOR = "|";
+
+    public static String sizeKey(String label, String sizeLabel){
+        return label + "/" + sizeLabel;
+    }
+
+    public static String itemKey(Type type, String name){
+        return type + ":" + name;
+    }
+
+    public String key(){
+        return type == Type.SIZE ? sizeKey(label, sizeLabel) : itemKey(type, name);
+    }
+
+    // A CSV cell holds all references in one value, split it the same way whichever format the row came from.
+    public List<String> sizeKeys(){
+        if (sizes == null) return null;
+        return sizes.stream()
+                .flatMap(value -> Arrays.stream(value.split("\\" + SIZE_SEPARATOR)))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    public SizeOption toSizeOption(){
+        SizeOption sizeOption = new SizeOption();
+        sizeOption.setLabel(label);
+        sizeOption.setSizeLabel(sizeLabel);
+        sizeOption.setExtraPrice(extraPrice);
+        return sizeOption;
+    }
+
+    // Sizes are left out, they are resolved against the database by the importer.
+    public MenuItem toMenuItem(){
+        MenuItem item = switch (type) {
+            case BURGER -> {
+                Burger burger = new Burger();
+                burger.setVegan(Boolean.TRUE.equals(vegan));
+                burger.setChicken(Boolean.TRUE.equals(chicken));
+                burger.setLactoseFree(Boolean.TRUE.equals(lactoseFree));
+                yield burger;
+            }
+            case DRINK -> {
+                Drink drink = new Drink();
+                drink.setCarbonated(Boolean.TRUE.equals(carbonated));
+                drink.setLactoseFree(Boolean.TRUE.equals(lactoseFree));
+                yield drink;
+            }
+            case SIDE -> {
+                Side side = new Side();
+                side.setShareable(Boolean.TRUE.equals(shareable));
+                yield side;
+            }
+            case SIZE -> throw new IllegalStateException("A size row is not a menu item");
+        };
+        item.setName(name);
+        item.setDescription(description);
+        item.setBasePrice(basePrice);
+        item.setImageURL(imageUrl);
+        return item;
+    }
+
+    public static MenuRow of(SizeOption sizeOption){
+        return new MenuRow(Type.SIZE, null, null, null, null, null, null, null, null, null,
+                sizeOption.getLabel(), sizeOption.getSizeLabel(), sizeOption.getExtraPrice(), null);
+    }
+
+    public static MenuRow of(Burger burger){
+        return new MenuRow(Type.BURGER, burger.getName(), burger.getDescription(), burger.getBasePrice(), burger.getImageURL(),
+                burger.getVegan(), burger.getChicken(), burger.getLactoseFree(), null, null, null, null, null, null);
+    }
+
+    public static MenuRow of(Drink drink){
+        return new MenuRow(Type.DRINK, drink.getName(), drink.getDescription(), drink.getBasePrice(), drink.getImageURL(),
+                null, null, drink.getLactoseFree(), drink.getCarbonated(), null, null, null, null, sizeKeysOf(drink.getSizeOptions()));
+    }
+
+    public static MenuRow of(Side side){
+        return new MenuRow(Type.SIDE, side.getName(), side.getDescription(), side.getBasePrice(), side.getImageURL(),
+                null, null, null, null, side.getShareable(), null, null, null, sizeKeysOf(side.getSizeOptions()));
+    }
+
+    private static List<String> sizeKeysOf(Collection<SizeOption> sizeOptions){
+        return sizeOptions.stream()
+                .sorted(Comparator.comparing(SizeOption::getId))
+                .map(sizeOption -> sizeKey(sizeOption.getLabel(), sizeOption.getSizeLabel()))
+                .toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.burgerstream.backend.service.menu;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.menu.SizeOption;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Read-only view of the whole menu at a given version. A new snapshot is built whenever the menu changes,
+// the lists and lookup maps of an existing snapshot are never modified.
+public final class MenuSnapshot {
+
+    private final long version;
+    private final List<Burger> burgers;
+    private final List<Drink> drinks;
+    private final List<Side> sides;
+    private final List<SizeOption> sizeOptions;
+    private final List<MenuItem> menuItems;
+    private final Map<Long, MenuItem> menuItemsById;
+    private final Map<Long, SizeOption> sizeOptionsById;
+    private final MenuFlagIndex<Burger> burgerIndex;
+    private final MenuFlagIndex<Drink> drinkIndex;
+    private final MenuFlagIndex<Side> sideIndex;
+    private final MenuFlagIndex<MenuItem> menuItemIndex;
+    private final MenuPriceTable priceTable;
+
+    public MenuSnapshot(long version, List<Burger> burgers, List<Drink> drinks, List<Side> sides, List<SizeOption> sizeOptions){
+        this.version = version;
+        this.burgers = sortedById(burgers, Burger::getId);
+        this.drinks = sortedById(drinks, Drink::getId);
+        this.sides = sortedById(sides, Side::getId);
+        this.sizeOptions = sortedById(sizeOptions, SizeOption::getId);
+
+        List<MenuItem> allItems = new ArrayList<>(this.burgers.size() + this.drinks.size() + this.sides.size());
+        allItems.addAll(this.burgers);
+        allItems.addAll(this.drinks);
+        allItems.addAll(this.sides);
+        this.menuItems = sortedById(allItems, MenuItem::getId);
+
+        Map<Long, MenuItem> itemsById = new HashMap<>();
+        for (MenuItem item : this.menuItems){
+            itemsById.put(item.getId(), item);
+        }
+        this.menuItemsById = Map.copyOf(itemsById);
+
+        Map<Long, SizeOption> sizesById = new HashMap<>();
+        for (SizeOption size : this.sizeOptions){
+            sizesById.put(size.getId(), size);
+        }
+        this.sizeOptionsById = Map.copyOf(sizesById);
+
+        this.burgerIndex = new MenuFlagIndex<>(this.burgers);
+        this.drinkIndex = new MenuFlagIndex<>(this.drinks);
+        this.sideIndex = new MenuFlagIndex<>(this.sides);
+        this.menuItemIndex = new MenuFlagIndex<>(this.menuItems);
+        this.priceTable = new MenuPriceTable(this.burgers, this.drinks, this.sides);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Burger> getBurgers() {
+        return burgers;
+    }
+
+    public List<Drink> getDrinks() {
+        return drinks;
+    }
+
+    public List<Side> getSides() {
+        return sides;
+    }
+
+    public List<SizeOption> getSizeOptions() {
+        return sizeOptions;
+    }
+
+    public List<MenuItem> getMenuItems() {
+        return menuItems;
+    }
+
+    public MenuFlagIndex<Burger> getBurgerIndex() {
+        return burgerIndex;
+    }
+
+    public MenuFlagIndex<Drink> getDrinkIndex() {
+        return drinkIndex;
+    }
+
+    public MenuFlagIndex<Side> getSideIndex() {
+        return sideIndex;
+    }
+
+    public MenuFlagIndex<MenuItem> getMenuItemIndex() {
+        return menuItemIndex;
+    }
+
+    public MenuPriceTable getPriceTable() {
+        return priceTable;
+    }
+
+    public Optional<MenuItem> findMenuItem(Long id){
+        return Optional.ofNullable(id == null ? null : menuItemsById.get(id));
+    }
+
+    public Optional<Burger> findBurger(Long id){
+        return findMenuItem(id).filter(Burger.class::isInstance).map(Burger.class::cast);
+    }
+
+    public Optional<Drink> findDrink(Long id){
+        return findMenuItem(id).filter(Drink.class::isInstance).map(Drink.class::cast);
+    }
+
+    public Optional<Side> findSide(Long id){
+        return findMenuItem(id).filter(Side.class::isInstance).map(Side.class::cast);
+    }
+
+    public Optional<SizeOption> findSizeOption(Long id){
+        return Optional.ofNullable(id == null ? null : sizeOptionsById.get(id));
+    }
+
+    private static <T> List<T> sortedById(List<T> items, Function<T, Long> idGetter){
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(idGetter));
+        return List.copyOf(sorted);
+    }
+}
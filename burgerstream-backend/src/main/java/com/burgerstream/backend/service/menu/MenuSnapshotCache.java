@@ -0,0 +1,150 @@
+package com.burgerstream.backend.service.menu;
+
+import com.burgerstream.backend.config.ReplicaRoutingDataSource;
+import com.burgerstream.backend.repository.menu.BurgerRepository;
+import com.burgerstream.backend.repository.menu.DrinkRepository;
+import com.burgerstream.backend.repository.menu.SideRepository;
+import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Read-through cache of the whole menu, every menu change bumps the version so the next read rebuilds it. Published
+// snapshots are shared, so they are only loaded outside callers' transactions; a transaction that finds the snapshot
+// stale reads the menu for itself and has a fresh one published in the background.
+@Component
+public class MenuSnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuSnapshotCache.class);
+
+    private final BurgerRepository burgerRepository;
+    private final DrinkRepository drinkRepository;
+    private final SideRepository sideRepository;
+    private final SizeOptionRepository sizeOptionRepository;
+    private final TransactionTemplate primaryReads;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("menu-snapshot-refresh").daemon().factory());
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<MenuSnapshot> snapshot = new AtomicReference<>();
+    private final Object pendingChangesKey = new Object();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public MenuSnapshotCache(BurgerRepository burgerRepository,
+                             DrinkRepository drinkRepository,
+                             SideRepository sideRepository,
+                             SizeOptionRepository sizeOptionRepository,
+                             PlatformTransactionManager transactionManager){
+        this.burgerRepository = burgerRepository;
+        this.drinkRepository = drinkRepository;
+        this.sideRepository = sideRepository;
+        this.sizeOptionRepository = sizeOptionRepository;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryReads.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void close(){
+        refresher.shutdownNow();
+    }
+
+    public MenuSnapshot current(){
+        boolean ownChanges = TransactionSynchronizationManager.hasResource(pendingChangesKey);
+        MenuSnapshot currentSnapshot = snapshot.get();
+        if (!ownChanges && currentSnapshot != null && currentSnapshot.getVersion() == version.get()){
+            return currentSnapshot;
+        }
+        if (!ownChanges && !TransactionSynchronizationManager.isActualTransactionActive()){
+            return loadAndPublish();
+        }
+
+        if (!ownChanges) refreshInBackground();
+        // Joins the caller's transaction and persistence context, so it is never published.
+        return loadMenu(version.get());
+    }
+
+    public long currentVersion(){
+        return version.get();
+    }
+
+    public void invalidate(){
+        version.incrementAndGet();
+
+        // Nothing is published before the transaction completes, and the snapshot is rebuilt after it.
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(pendingChangesKey)){
+            TransactionSynchronizationManager.bindResource(pendingChangesKey, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingChangesKey);
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private MenuSnapshot loadAndPublish(){
+        loadLock.lock();
+        try {
+            long expectedVersion = version.get();
+            MenuSnapshot currentSnapshot = snapshot.get();
+            if (currentSnapshot != null && currentSnapshot.getVersion() == expectedVersion){
+                return currentSnapshot;
+            }
+
+            // From the primary, a lagging replica would get cached under the new version.
+            MenuSnapshot loaded = ReplicaRoutingDataSource.readFromPrimary(
+                    () -> primaryReads.execute(status -> loadMenu(expectedVersion)));
+            if (version.get() == expectedVersion){
+                snapshot.set(loaded);
+            }
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void refreshInBackground(){
+        if (!refreshing.compareAndSet(false, true)) return;
+        try {
+            refresher.execute(() -> {
+                try {
+                    loadAndPublish();
+                } catch (RuntimeException e) {
+                    log.warn("Refreshing the menu snapshot failed, the next stale read tries again", e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private MenuSnapshot loadMenu(long snapshotVersion){
+        return new MenuSnapshot(
+                snapshotVersion,
+                burgerRepository.findAll(),
+                drinkRepository.findAllWithSizeOptions(),
+                sideRepository.findAllWithSizeOptions(),
+                sizeOptionRepository.findAll());
+    }
+}
@@ -1,13 +1,17 @@
 package com.burgerstream.backend.service.menu;
 
 import com.burgerstream.backend.component.MenuItemValidator;
+import com.burgerstream.backend.component.OptimisticLockRetry;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.Side;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.repository.menu.SideRepository;
 import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,10 +26,20 @@ public class SideService {
 
     private final MenuItemValidator validator;
 
-    public SideService(SideRepository sideRepository, SizeOptionRepository sizeOptionRepository, MenuItemValidator validator){
+    private final MenuSnapshotCache menuSnapshotCache;
+
+    private final OptimisticLockRetry optimisticLockRetry;
+
+    private final EntityManager entityManager;
+
+    public SideService(SideRepository sideRepository, SizeOptionRepository sizeOptionRepository, MenuItemValidator validator, MenuSnapshotCache menuSnapshotCache,
+                       OptimisticLockRetry optimisticLockRetry, EntityManager entityManager){
         this.sideRepository = sideRepository;
         this.sizeOptionRepository = sizeOptionRepository;
         this.validator = validator;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.entityManager = entityManager;
     }
 
     public Side createSide(Side side){
@@ -34,29 +48,33 @@ public class SideService {
     }
 
     public Side getSide(Long id){
-        return sideRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
+        return menuSnapshotCache.current().findSide(id).orElseThrow(() -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
 
     }
 
     public List<Side> getFilteredSides(Boolean shareable) {
+        MenuFlagIndex<Side> sideIndex = menuSnapshotCache.current().getSideIndex();
         if (shareable != null && shareable) {
-            return sideRepository.findByIsShareableTrue();
+            return sideIndex.filter(Set.of(MenuFlag.SHAREABLE));
 
         } else {
-            return sideRepository.findAll();
+            return sideIndex.getItems();
         }
     }
 
     public Side updateSide(Long id, Side newSideDetails){
-        Side oldSideDetails = sideRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
-        validator.validate(newSideDetails);
-        oldSideDetails.setName(newSideDetails.getName());
-        oldSideDetails.setDescription(newSideDetails.getDescription());
-        oldSideDetails.setBasePrice(newSideDetails.getBasePrice());
-        oldSideDetails.setImageURL(newSideDetails.getImageURL());
-        oldSideDetails.setShareable(newSideDetails.getShareable());
-
-        return sideRepository.save(oldSideDetails);
+        return optimisticLockRetry.run("Side with id: " + id, () -> {
+            Side oldSideDetails = sideRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
+            validator.validate(newSideDetails);
+            OptimisticLockRetry.checkVersion("Side with id: " + id, newSideDetails.getVersion(), oldSideDetails.getVersion());
+            oldSideDetails.setName(newSideDetails.getName());
+            oldSideDetails.setDescription(newSideDetails.getDescription());
+            oldSideDetails.setBasePrice(newSideDetails.getBasePrice());
+            oldSideDetails.setImageURL(newSideDetails.getImageURL());
+            oldSideDetails.setShareable(newSideDetails.getShareable());
+
+            return sideRepository.save(oldSideDetails);
+        });
     }
 
     public Map<String, Boolean> deleteSide(Long id){
@@ -72,26 +90,31 @@ public class SideService {
 
     // SIZE OPTIONS
     public Set<SizeOption> getSideSizes(Long id){
-        Side side = sideRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
+        Side side = menuSnapshotCache.current().findSide(id).orElseThrow(() -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
 
-        return side.getSizeOptions();
+        return Collections.unmodifiableSet(side.getSizeOptions());
     }
 
+    // Writes only the one join row, the side itself is not loaded with its sizes or saved, so its version stays as it is.
+    @Transactional
     public Side addSideSizeOption(Long id, Long sizeId){
-        Side side = sideRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
-        SizeOption size = sizeOptionRepository.findById(sizeId).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + sizeId + " does not exist"));
+        Side side = sideRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
+        if (!sizeOptionRepository.existsById(sizeId)) throw new ResourceNotFoundException("Size with id: " + sizeId + " does not exist");
 
-        side.getSizeOptions().add(size);
-
-        return sideRepository.save(side);
+        sideRepository.addSizeOption(id, sizeId);
+        entityManager.refresh(side);
+        menuSnapshotCache.invalidate();
+        return side;
     }
 
+    @Transactional
     public Side removeSideSizeOption(Long id, Long sizeId){
-        Side side = sideRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
-        SizeOption size = sizeOptionRepository.findById(sizeId).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + sizeId + " does not exist"));
+        Side side = sideRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Side with id: " + id + " does not exist"));
+        if (!sizeOptionRepository.existsById(sizeId)) throw new ResourceNotFoundException("Size with id: " + sizeId + " does not exist");
 
-        side.getSizeOptions().remove(size);
-
-        return sideRepository.save(side);
+        sideRepository.removeSizeOption(id, sizeId);
+        entityManager.refresh(side);
+        menuSnapshotCache.invalidate();
+        return side;
     }
 }
\ No newline at end of file
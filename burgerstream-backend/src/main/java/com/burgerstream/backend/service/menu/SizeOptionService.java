@@ -1,14 +1,14 @@
 package com.burgerstream.backend.service.menu;
 
+import com.burgerstream.backend.component.OptimisticLockRetry;
 import com.burgerstream.backend.exception.InvalidSizeOptionException;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
-import com.burgerstream.backend.model.menu.Drink;
-import com.burgerstream.backend.model.menu.Side;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.repository.menu.DrinkRepository;
 import com.burgerstream.backend.repository.menu.SideRepository;
 import com.burgerstream.backend.repository.menu.SizeOptionRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
@@ -20,15 +20,19 @@ public class SizeOptionService {
     private final SizeOptionRepository sizeOptionRepository;
     private final DrinkRepository drinkRepository;
     private final SideRepository sideRepository;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final OptimisticLockRetry optimisticLockRetry;
 
-    public SizeOptionService(SizeOptionRepository sizeOptionRepository, DrinkRepository drinkRepository, SideRepository sideRepository){
+    public SizeOptionService(SizeOptionRepository sizeOptionRepository, DrinkRepository drinkRepository, SideRepository sideRepository, MenuSnapshotCache menuSnapshotCache, OptimisticLockRetry optimisticLockRetry){
         this.sizeOptionRepository = sizeOptionRepository;
         this.drinkRepository = drinkRepository;
         this.sideRepository = sideRepository;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.optimisticLockRetry = optimisticLockRetry;
     }
 
     public List<SizeOption> getAllSizeOptions(){
-        return sizeOptionRepository.findAll();
+        return menuSnapshotCache.current().getSizeOptions();
     }
 
     public SizeOption createSizeOption(SizeOption sizeOption){
@@ -37,18 +41,21 @@ public class SizeOptionService {
     }
 
     public SizeOption getSizeOption(Long id){
-        return sizeOptionRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + id + " does not exist"));
+        return menuSnapshotCache.current().findSizeOption(id).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + id + " does not exist"));
     }
 
     public SizeOption updateSizeOption(Long id, SizeOption newSizeDetails){
         checkForMissingAttributes(newSizeDetails);
-        SizeOption oldSizeDetails = sizeOptionRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + id + " does not exist"));
+        return optimisticLockRetry.run("Size with id: " + id, () -> {
+            SizeOption oldSizeDetails = sizeOptionRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + id + " does not exist"));
+            OptimisticLockRetry.checkVersion("Size with id: " + id, newSizeDetails.getVersion(), oldSizeDetails.getVersion());
 
-        oldSizeDetails.setLabel(newSizeDetails.getLabel());
-        oldSizeDetails.setSizeLabel(newSizeDetails.getSizeLabel());
-        oldSizeDetails.setExtraPrice(newSizeDetails.getExtraPrice());
+            oldSizeDetails.setLabel(newSizeDetails.getLabel());
+            oldSizeDetails.setSizeLabel(newSizeDetails.getSizeLabel());
+            oldSizeDetails.setExtraPrice(newSizeDetails.getExtraPrice());
 
-        return sizeOptionRepository.save(oldSizeDetails);
+            return sizeOptionRepository.save(oldSizeDetails);
+        });
     }
 
     public Map<String, Boolean> deleteSizeOption(Long id){
@@ -61,34 +68,28 @@ public class SizeOptionService {
         return response;
     }
 
-    public SizeOption assignSizeToDrinks(Long id, List<Long> drinkIds){
+    // Set-based: the drinks are never loaded, every join row is written by a single insert ... select.
+    @Transactional
+    public Map<String, Integer> assignSizeToDrinks(Long id, List<Long> drinkIds){
         if (drinkIds.isEmpty()) throw new IllegalArgumentException("At least one drink must be provided");
-        SizeOption sizeOption = sizeOptionRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + id + " does not exist"));
-
-        List<Drink> drinks = drinkRepository.findAllById(drinkIds);
+        if (!sizeOptionRepository.existsById(id)) throw new ResourceNotFoundException("Size with id: " + id + " does not exist");
 
-        for (Drink drink : drinks){
-            drink.getSizeOptions().add(sizeOption);
-        }
-        drinkRepository.saveAll(drinks);
-        return sizeOption;
+        int assigned = drinkRepository.addSizeOptionToAll(id, drinkIds);
+        menuSnapshotCache.invalidate();
+        return Map.of("Assigned", assigned);
     }
 
-    public SizeOption assignSizeToSides(Long id, List<Long> sideIds){
+    @Transactional
+    public Map<String, Integer> assignSizeToSides(Long id, List<Long> sideIds){
         if (sideIds.isEmpty()) throw new IllegalArgumentException("At least one side must be provided");
-        SizeOption sizeOption = sizeOptionRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Size with id: " + id + " does not exist"));
-
-        List<Side> sides = sideRepository.findAllById(sideIds);
-
-        for (Side side : sides){
-            side.getSizeOptions().add(sizeOption);
-        }
+        if (!sizeOptionRepository.existsById(id)) throw new ResourceNotFoundException("Size with id: " + id + " does not exist");
 
-        sideRepository.saveAll(sides);
-        return sizeOption;
+        int assigned = sideRepository.addSizeOptionToAll(id, sideIds);
+        menuSnapshotCache.invalidate();
+        return Map.of("Assigned", assigned);
     }
 
-    private void checkForMissingAttributes(SizeOption sizeOption){
+    void checkForMissingAttributes(SizeOption sizeOption){
         if (sizeOption.getLabel() == null){
             throw new InvalidSizeOptionException("Size option is missing a label");
         } else if (sizeOption.getSizeLabel() == null){
@@ -0,0 +1,115 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderStatus;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.kitchen.KitchenOrder;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Orders that are not collected yet, indexed by status, so the kitchen's open orders are answered without querying the
+// orders table. Loaded once at startup, then follows the committed changes. Changes to one order are made in
+// statusById.compute so they apply one at a time; each status lists its orders oldest first.
+@Component
+public class ActiveOrderBoard {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveOrderBoard.class);
+
+    private final OrderRepository orderRepository;
+    private final MenuSnapshotCache menuSnapshotCache;
+
+    private final ConcurrentMap<Long, OrderStatus> statusById = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, ConcurrentSkipListMap<Long, KitchenOrder>> ordersByStatus = new EnumMap<>(OrderStatus.class);
+
+    public ActiveOrderBoard(OrderRepository orderRepository, MenuSnapshotCache menuSnapshotCache){
+        this.orderRepository = orderRepository;
+        this.menuSnapshotCache = menuSnapshotCache;
+        for (OrderStatus status : OrderStatus.values()){
+            if (status.isActive()){
+                ordersByStatus.put(status, new ConcurrentSkipListMap<>());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveOrders(){
+        List<OrderStatus> activeStatuses = Arrays.stream(OrderStatus.values()).filter(OrderStatus::isActive).toList();
+        List<Order> activeOrders = orderRepository.findAllWithItemsByStatusIn(activeStatuses);
+        for (Order order : activeOrders){
+            add(KitchenOrder.from(order, menuSnapshotCache.current()), order.getStatus());
+        }
+        log.info("Loaded {} active orders onto the board", activeOrders.size());
+    }
+
+    public void add(Order order){
+        add(KitchenOrder.from(order, menuSnapshotCache.current()), order.getStatus());
+    }
+
+    // A late add puts an order the board already knows in the status it has there, and leaves a collected one off.
+    public void add(KitchenOrder order, OrderStatus status){
+        statusById.compute(order.orderId(), (orderId, current) -> {
+            if (current == null){
+                if (!status.isActive()) return null;
+                ordersByStatus.get(status).put(orderId, order);
+                return status;
+            }
+            if (!current.isActive()) return null;
+            ordersByStatus.get(current).putIfAbsent(orderId, order);
+            return current;
+        });
+    }
+
+    // Returns false when the order is on the board in another status. An order not added yet is remembered in its new
+    // status for its add.
+    public boolean move(Long orderId, OrderStatus from, OrderStatus to){
+        boolean[] moved = {true};
+        statusById.compute(orderId, (id, current) -> {
+            if (current == null) return to;
+            if (current != from){
+                moved[0] = false;
+                return current;
+            }
+            // Added to the new status before it leaves the old one, a reader may briefly see it twice but never misses it.
+            KitchenOrder order = ordersByStatus.get(from).get(id);
+            if (order != null && to.isActive()){
+                ordersByStatus.get(to).put(id, order);
+            }
+            ordersByStatus.get(from).remove(id);
+            return to.isActive() || order == null ? to : null;
+        });
+        return moved[0];
+    }
+
+    public void remove(Long orderId){
+        statusById.computeIfPresent(orderId, (id, status) -> {
+            if (status.isActive()){
+                ordersByStatus.get(status).remove(id);
+            }
+            return null;
+        });
+    }
+
+    public List<KitchenOrder> getOrders(OrderStatus status){
+        ConcurrentSkipListMap<Long, KitchenOrder> orders = ordersByStatus.get(status);
+        return orders == null ? List.of() : List.copyOf(orders.values());
+    }
+
+    public Map<OrderStatus, List<KitchenOrder>> getBoard(){
+        Map<OrderStatus, List<KitchenOrder>> board = new LinkedHashMap<>();
+        ordersByStatus.forEach((status, orders) -> board.put(status, List.copyOf(orders.values())));
+        return board;
+    }
+}
@@ -0,0 +1,64 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.model.order.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+// Flat copy of an order as it is written to the archive, one JSON line per order. Like the ingest records,
+// menu items and sizes are kept as ids and resolved against the current menu when the order is read back.
+public record ArchivedOrderRecord(Long id,
+                                  String reference,
+                                  LocalDateTime date,
+                                  String customerName,
+                                  String customerEmail,
+                                  OrderStatus status,
+                                  BigDecimal orderEndPrice,
+                                  List<Item> items) {
+
+    public record Item(Long id, Long menuItemId, Long sizeOptionId, Integer amount, BigDecimal itemEndPrice) { }
+
+    public static ArchivedOrderRecord from(Order order){
+        List<Item> items = order.getOrderItems().stream()
+                .map(item -> new Item(
+                        item.getId(),
+                        item.getMenuItem().getId(),
+                        item.getSizeOption() == null ? null : item.getSizeOption().getId(),
+                        item.getAmount(),
+                        item.getItemEndPrice()))
+                .toList();
+        return new ArchivedOrderRecord(order.getId(), order.getReference(), order.getDate(), order.getCustomerName(),
+                order.getCustomerEmail(), order.getStatus(), order.getOrderEndPrice(), items);
+    }
+
+    public Order toOrder(Function<Long, MenuItem> menuItemResolver, Function<Long, SizeOption> sizeOptionResolver){
+        Order order = new Order();
+        order.setId(id);
+        order.setReference(reference);
+        order.setDate(date);
+        order.setCustomerName(customerName);
+        order.setCustomerEmail(customerEmail);
+        order.setStatus(status);
+
+        for (Item item : items){
+            OrderItem orderItem = new OrderItem();
+            orderItem.setId(item.id());
+            orderItem.setMenuItem(menuItemResolver.apply(item.menuItemId()));
+            if (item.sizeOptionId() != null){
+                orderItem.setSizeOption(sizeOptionResolver.apply(item.sizeOptionId()));
+            }
+            orderItem.setAmount(item.amount());
+            orderItem.setItemEndPrice(item.itemEndPrice());
+            orderItem.setOrder(order);
+            order.getOrderItems().add(orderItem);
+        }
+        order.setOrderEndPrice(orderEndPrice);
+        return order;
+    }
+}
@@ -0,0 +1,82 @@
+package com.burgerstream.backend.service.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Archived orders on local disk, partitioned by month: <directory>/<yyyy-MM>/orders-<firstId>-<lastId>.jsonl.gz.
+// Every archive run writes new gzip-compressed JSON lines files and never touches existing ones. A file is written
+// under a temporary name, forced to disk and then renamed, so a crash leaves either the whole file or none of it.
+public class OrderArchive {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    public OrderArchive(Path directory){
+        this.directory = directory;
+    }
+
+    // Writes the orders of one month and returns the file name to look them up by later, relative to the directory.
+    public String write(YearMonth month, List<ArchivedOrderRecord> orders){
+        String fileName = month + "/orders-" + orders.getFirst().id() + "-" + orders.getLast().id() + ".jsonl.gz";
+        Path target = directory.resolve(fileName);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+                for (ArchivedOrderRecord order : orders){
+                    writer.write(objectMapper.writeValueAsString(order));
+                    writer.newLine();
+                }
+                writer.flush();
+                gzip.finish();
+                channel.force(true);
+            }
+            // Running the same batch again after a crash before the commit rewrites the same file.
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return fileName;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write order archive " + target, e);
+        }
+    }
+
+    public Optional<ArchivedOrderRecord> find(String fileName, Long orderId){
+        Path file = directory.resolve(fileName);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null){
+                ArchivedOrderRecord order = objectMapper.readValue(line, ArchivedOrderRecord.class);
+                if (orderId.equals(order.id())) return Optional.of(order);
+            }
+            return Optional.empty();
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Order archive " + file + " is missing, order " + orderId + " can't be read", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read order archive " + file, e);
+        }
+    }
+}
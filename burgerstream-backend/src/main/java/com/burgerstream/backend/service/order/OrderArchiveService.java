@@ -0,0 +1,166 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.model.order.ArchivedOrder;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderStatus;
+import com.burgerstream.backend.repository.order.ArchivedOrderRepository;
+import com.burgerstream.backend.repository.order.OrderItemRepository;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.menu.MenuSnapshot;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Keeps the orders table to recent orders. Collected orders older than burgerstream.orders.archive.older-than-days
+// are written to the monthly archive files and removed from orders and order_items, leaving only an archived_orders
+// row that says which file holds them. The sales rollups keep their figures, archiving is not a deletion.
+// Each batch is written to disk before the transaction that removes it from the tables commits, so an order is always
+// in the tables, the archive or both; a crash in between just archives the same batch again on the next run.
+@Service
+public class OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderArchive archive;
+
+    private final boolean enabled;
+    private final Duration olderThan;
+    private final Duration interval;
+    private final int batchSize;
+
+    private ScheduledExecutorService scheduler;
+
+    public OrderArchiveService(OrderRepository orderRepository,
+                               OrderItemRepository orderItemRepository,
+                               ArchivedOrderRepository archivedOrderRepository,
+                               MenuSnapshotCache menuSnapshotCache,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${burgerstream.orders.archive.enabled:false}") boolean enabled,
+                               @Value("${burgerstream.orders.archive.directory:data/order-archive}") String directory,
+                               @Value("${burgerstream.orders.archive.older-than-days:90}") long olderThanDays,
+                               @Value("${burgerstream.orders.archive.interval-minutes:60}") long intervalMinutes,
+                               @Value("${burgerstream.orders.archive.batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archive = new OrderArchive(Path.of(directory));
+        this.enabled = enabled;
+        this.olderThan = Duration.ofDays(olderThanDays);
+        this.interval = Duration.ofMinutes(intervalMinutes);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void start(){
+        if (!enabled) return;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("order-archiver").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::archiveOldOrders, interval.toMinutes(), interval.toMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (scheduler == null) return;
+
+        // A batch cut off here was either committed or is archived again on the next run.
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void archiveOldOrders(){
+        try {
+            int archived = archiveOrdersBefore(LocalDateTime.now().minus(olderThan));
+            if (archived > 0){
+                log.info("Archived {} orders older than {} days", archived, olderThan.toDays());
+            }
+        } catch (RuntimeException e) {
+            log.error("Archiving old orders failed, trying again in {} minutes", interval.toMinutes(), e);
+        }
+    }
+
+    // Archives every collected order placed before the cutoff, one batch per transaction. Returns how many were archived.
+    public int archiveOrdersBefore(LocalDateTime cutoff){
+        int archived = 0;
+        while (!Thread.currentThread().isInterrupted()){
+            Integer count = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += count;
+            if (count < batchSize) break;
+        }
+        return archived;
+    }
+
+    // Orders placed up to this time may be in the archive instead of the orders table: the newest archived order, or
+    // when the archive job runs, the age it archives from if that is later.
+    public Optional<LocalDateTime> archivedUpTo(){
+        Optional<LocalDateTime> newestArchived = archivedOrderRepository.findNewestDate();
+        if (!enabled) return newestArchived;
+
+        LocalDateTime archivable = LocalDateTime.now().minus(olderThan);
+        return Optional.of(newestArchived.filter(date -> date.isAfter(archivable)).orElse(archivable));
+    }
+
+    // Reads an order back from the archive with its items resolved against the current menu.
+    // Menu items deleted since the order was archived come back as null.
+    public Optional<Order> findArchivedOrder(Long id){
+        return archivedOrderRepository.findById(id)
+                .flatMap(location -> archive.find(location.getArchiveFile(), id))
+                .map(record -> {
+                    MenuSnapshot menu = menuSnapshotCache.current();
+                    return record.toOrder(
+                            menuItemId -> menu.findMenuItem(menuItemId).orElse(null),
+                            sizeOptionId -> menu.findSizeOption(sizeOptionId).orElse(null));
+                });
+    }
+
+    private int archiveBatch(LocalDateTime cutoff){
+        List<Long> ids = orderRepository.findIdsToArchive(cutoff, OrderStatus.COLLECTED, Limit.of(batchSize));
+        if (ids.isEmpty()) return 0;
+
+        List<Order> orders = orderRepository.findAllWithItemsByIdIn(ids);
+        Map<YearMonth, List<ArchivedOrderRecord>> ordersByMonth = orders.stream()
+                .map(ArchivedOrderRecord::from)
+                .collect(Collectors.groupingBy(order -> YearMonth.from(order.date()), TreeMap::new, Collectors.toList()));
+
+        for (Map.Entry<YearMonth, List<ArchivedOrderRecord>> month : ordersByMonth.entrySet()){
+            String archiveFile = archive.write(month.getKey(), month.getValue());
+            for (ArchivedOrderRecord order : month.getValue()){
+                entityManager.persist(new ArchivedOrder(order.id(), order.date(), archiveFile));
+            }
+        }
+
+        orderItemRepository.deleteByOrderIdIn(ids);
+        orderRepository.deleteAllByIdIn(ids);
+        return ids.size();
+    }
+}
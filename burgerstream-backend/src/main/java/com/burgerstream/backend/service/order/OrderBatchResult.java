@@ -0,0 +1,29 @@
+package com.burgerstream.backend.service.order;
+
+import java.util.List;
+
+// One entry per submitted order, in the order they were submitted.
+public record OrderBatchResult(int created, int rejected, List<Entry> results) {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+
+    // REJECTED orders failed validation, FAILED ones were valid but their chunk could not be committed.
+    public record Entry(int index, Status status, Long orderId, String error) {
+
+        public static Entry created(int index, Long orderId){
+            return new Entry(index, Status.CREATED, orderId, null);
+        }
+
+        public static Entry rejected(int index, String error){
+            return new Entry(index, Status.REJECTED, null, error);
+        }
+
+        public static Entry failed(int index, String error){
+            return new Entry(index, Status.FAILED, null, error);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.exception.InvalidOrderException;
+import com.burgerstream.backend.model.order.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Creates many orders from one request, for kiosks and delivery partners that send orders in bursts.
+// Every order is validated and priced first, all against the menu snapshot so resolving the menu items and sizes of
+// the whole batch costs no queries. The valid orders are then saved in chunks of chunk-size orders, one transaction
+// and one batched insert per chunk, instead of one request and one commit per order.
+@Service
+public class OrderBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBatchService.class);
+
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOrders;
+    private final int chunkSize;
+
+    public OrderBatchService(OrderService orderService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${burgerstream.orders.batch.max-orders:1000}") int maxOrders,
+                             @Value("${burgerstream.orders.batch.chunk-size:200}") int chunkSize){
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxOrders = maxOrders;
+        this.chunkSize = chunkSize;
+    }
+
+    public OrderBatchResult createOrders(List<Order> orders){
+        if (orders == null || orders.isEmpty()) {
+            throw new InvalidOrderException("A batch must contain at least one order.");
+        }
+        if (orders.size() > maxOrders) {
+            throw new InvalidOrderException("A batch can contain at most " + maxOrders + " orders.");
+        }
+
+        OrderBatchResult.Entry[] results = new OrderBatchResult.Entry[orders.size()];
+        List<Integer> valid = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++){
+            try {
+                orderService.prepareNewOrder(orders.get(i));
+                valid.add(i);
+            } catch (InvalidOrderException e) {
+                results[i] = OrderBatchResult.Entry.rejected(i, e.getMessage());
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize){
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            saveChunk(orders, chunk, results);
+        }
+
+        List<OrderBatchResult.Entry> entries = Arrays.asList(results);
+        int created = (int) entries.stream().filter(entry -> entry.status() == OrderBatchResult.Status.CREATED).count();
+        return new OrderBatchResult(created, entries.size() - created, List.copyOf(entries));
+    }
+
+    private void saveChunk(List<Order> orders, List<Integer> chunk, OrderBatchResult.Entry[] results){
+        List<Order> chunkOrders = chunk.stream().map(orders::get).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderService.saveNewOrders(chunkOrders));
+        } catch (RuntimeException e) {
+            // The other chunks are independent, only the orders of this one are reported as failed.
+            log.warn("Saving a chunk of {} batch orders failed", chunk.size(), e);
+            for (int index : chunk){
+                results[index] = OrderBatchResult.Entry.failed(index, "Could not be saved, try submitting it again");
+            }
+            return;
+        }
+        for (int index : chunk){
+            results[index] = OrderBatchResult.Entry.created(index, orders.get(index).getId());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in the order history, the (date, id) of the last order on a page. Encoded as an opaque string for clients.
+public record OrderCursor(LocalDateTime date, Long id) {
+
+    public static OrderCursor after(OrderView order){
+        return new OrderCursor(order.date(), order.id());
+    }
+
+    public String encode(){
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid order cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.exception.IdempotencyKeyInProgressException;
+import com.burgerstream.backend.exception.IdempotencyKeyReuseException;
+import com.burgerstream.backend.exception.InvalidIdempotencyKeyException;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.order.OrderIdempotencyKeyRepository;
+import com.burgerstream.backend.service.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Answers a retried POST /orders with the response of the first attempt instead of creating the order again. Recent
+// keys are kept in a bounded LRU map and every key in order_idempotency_keys, so retries after a restart are still
+// recognized. Only successful responses are remembered, a failed request can be retried with the same key.
+@Component
+public class OrderIdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+
+    public record Response(int status, String body, boolean replayed) { }
+
+    private record Entry(String requestHash, int status, String body, LocalDateTime expiresAt) { }
+
+    private final OrderIdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration purgeInterval;
+
+    private final Map<String, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private ScheduledExecutorService purger;
+
+    public OrderIdempotencyStore(OrderIdempotencyKeyRepository repository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${burgerstream.orders.idempotency.ttl-hours:24}") long ttlHours,
+                                 @Value("${burgerstream.orders.idempotency.max-entries:10000}") int maxEntries,
+                                 @Value("${burgerstream.orders.idempotency.purge-interval-minutes:10}") long purgeIntervalMinutes){
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.purgeInterval = Duration.ofMinutes(purgeIntervalMinutes);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @PostConstruct
+    void start(){
+        purger = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("idempotency-key-purger").daemon().factory());
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeInterval.toMinutes(), purgeInterval.toMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop(){
+        purger.shutdownNow();
+    }
+
+    // Runs the action once per key. A retry with the same order gets the stored response back, the same key with a
+    // different order is refused.
+    public Response execute(String key, Order order, int status, Supplier<?> action){
+        validate(key);
+        String requestHash = requestHash(order);
+
+        Optional<Entry> stored = find(key);
+        if (stored.isPresent()){
+            return replay(key, stored.get(), requestHash);
+        }
+
+        try {
+            return transactionTemplate.execute(transaction -> {
+                LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+                // Claimed before the order is written: a concurrent request with the same key waits on this row
+                // and then fails on the primary key, instead of creating a second order.
+                repository.claim(key, requestHash, expiresAt);
+                String body = toJson(action.get());
+                repository.saveResponse(key, status, body);
+
+                Entry entry = new Entry(requestHash, status, body, expiresAt);
+                AfterCommit.run(() -> remember(key, entry));
+                return new Response(status, body, false);
+            });
+        } catch (DataIntegrityViolationException e) {
+            Entry winner = find(key).orElseThrow(() -> e);
+            return replay(key, winner, requestHash);
+        }
+    }
+
+    // Like execute, for an action that must not run inside a transaction. The claim is committed first, so a concurrent
+    // request with the same key is told to retry; a failed action gives the key back.
+    public Response executeOutsideTransaction(String key, Order order, int status, Supplier<?> action){
+        validate(key);
+        String requestHash = requestHash(order);
+
+        Optional<Entry> stored = find(key);
+        if (stored.isPresent()){
+            return replay(key, stored.get(), requestHash);
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        try {
+            transactionTemplate.executeWithoutResult(transaction -> repository.claim(key, requestHash, expiresAt));
+        } catch (DataIntegrityViolationException e) {
+            Entry winner = find(key).orElseThrow(() -> new IdempotencyKeyInProgressException(
+                    HEADER + " " + key + " is still being processed, retry shortly"));
+            return replay(key, winner, requestHash);
+        }
+
+        String body;
+        try {
+            body = toJson(action.get());
+        } catch (RuntimeException e) {
+            try {
+                transactionTemplate.executeWithoutResult(transaction -> repository.deleteById(key));
+            } catch (RuntimeException releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+
+        Entry entry = new Entry(requestHash, status, body, expiresAt);
+        remember(key, entry);
+        try {
+            transactionTemplate.executeWithoutResult(transaction -> repository.saveResponse(key, status, body));
+        } catch (RuntimeException e) {
+            // The action has happened, retries on this instance are still answered from memory.
+            log.warn("Could not store the response for {} {}", HEADER, key, e);
+        }
+        return new Response(status, body, false);
+    }
+
+    public void purgeExpired(){
+        LocalDateTime now = LocalDateTime.now();
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> entry.expiresAt().isBefore(now));
+        } finally {
+            lock.unlock();
+        }
+        try {
+            Integer purged = transactionTemplate.execute(transaction -> repository.deleteExpired(now));
+            log.debug("Purged {} expired idempotency keys", purged);
+        } catch (RuntimeException e) {
+            log.warn("Purging expired idempotency keys failed, trying again in {} minutes", purgeInterval.toMinutes(), e);
+        }
+    }
+
+    private static void validate(String key){
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH){
+            throw new InvalidIdempotencyKeyException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private Optional<Entry> find(String key){
+        LocalDateTime now = LocalDateTime.now();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt().isAfter(now)) return Optional.of(entry);
+        } finally {
+            lock.unlock();
+        }
+
+        Optional<Entry> stored = repository.findById(key)
+                .filter(row -> row.getResponseStatus() != null && row.getExpiresAt().isAfter(now))
+                .map(row -> new Entry(row.getRequestHash(), row.getResponseStatus(), row.getResponseBody(), row.getExpiresAt()));
+        stored.ifPresent(entry -> remember(key, entry));
+        return stored;
+    }
+
+    private void remember(String key, Entry entry){
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Response replay(String key, Entry entry, String requestHash){
+        if (!entry.requestHash().equals(requestHash)){
+            throw new IdempotencyKeyReuseException(HEADER + " " + key + " was already used for a different order");
+        }
+        return new Response(entry.status(), entry.body(), true);
+    }
+
+    private String toJson(Object body){
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the order response", e);
+        }
+    }
+
+    // What the client asked for, before pricing fills in anything: customer details and the ordered items.
+    static String requestHash(Order order){
+        StringBuilder request = new StringBuilder()
+                .append(order.getCustomerName()).append('\n')
+                .append(order.getCustomerEmail()).append('\n');
+        if (order.getOrderItems() != null){
+            for (OrderItem item : order.getOrderItems()){
+                request.append(item.getMenuItemId()).append(':')
+                        .append(item.getSizeOptionId()).append(':')
+                        .append(item.getAmount()).append('\n');
+            }
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(request.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+// Flat copy of an accepted order as it is kept in the ingest queue and the write-ahead log.
+// Menu items and sizes are kept as ids so no entity graph has to be serialized.
+public record OrderIngestRecord(String reference,
+                                LocalDateTime date,
+                                String customerName,
+                                String customerEmail,
+                                BigDecimal orderEndPrice,
+                                List<Item> items) {
+
+    public record Item(Long menuItemId, Long sizeOptionId, Integer amount, BigDecimal itemEndPrice) { }
+
+    public static OrderIngestRecord from(String reference, Order order){
+        List<Item> items = order.getOrderItems().stream()
+                .map(item -> new Item(
+                        item.getMenuItem().getId(),
+                        item.getSizeOption() == null ? null : item.getSizeOption().getId(),
+                        item.getAmount(),
+                        item.getItemEndPrice()))
+                .toList();
+        return new OrderIngestRecord(reference, order.getDate(), order.getCustomerName(), order.getCustomerEmail(), order.getOrderEndPrice(), items);
+    }
+
+    public Order toOrder(Function<Long, MenuItem> menuItemResolver, Function<Long, SizeOption> sizeOptionResolver){
+        Order order = new Order();
+        order.setReference(reference);
+        order.setDate(date);
+        order.setCustomerName(customerName);
+        order.setCustomerEmail(customerEmail);
+
+        for (Item item : items){
+            OrderItem orderItem = new OrderItem();
+            orderItem.setMenuItem(menuItemResolver.apply(item.menuItemId()));
+            if (item.sizeOptionId() != null){
+                orderItem.setSizeOption(sizeOptionResolver.apply(item.sizeOptionId()));
+            }
+            orderItem.setAmount(item.amount());
+            orderItem.setItemEndPrice(item.itemEndPrice());
+            order.addOrderItem(orderItem);
+        }
+        order.setOrderEndPrice(orderEndPrice);
+        return order;
+    }
+}
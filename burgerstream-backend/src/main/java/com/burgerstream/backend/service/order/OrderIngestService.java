@@ -0,0 +1,304 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.exception.OrderIngestBackpressureException;
+import com.burgerstream.backend.exception.ResourceNotFoundException;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.repository.menu.MenuItemRepository;
+import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Optional ingest mode for orders (burgerstream.orders.ingest.enabled). Orders are validated, written to the
+// write-ahead log and acknowledged with a reference right away, a single writer thread then drains the bounded
+// queue and commits the orders in groups. When the queue is full callers get a 503 instead of piling up.
+@Service
+public class OrderIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIngestService.class);
+
+    private final OrderService orderService;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+    private final OrderRepository orderRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final SizeOptionRepository sizeOptionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final Path walPath;
+
+    private final BlockingQueue<OrderIngestRecord> queue;
+    private final Semaphore capacity;
+    private final Set<String> pendingReferences = ConcurrentHashMap.newKeySet();
+    // Acknowledged orders that could not be saved, the most recent ones so their receipts can say so.
+    private final Map<String, Boolean> rejectedReferences;
+    private final ReentrantLock rejectedLock = new ReentrantLock();
+
+    private OrderWriteAheadLog writeAheadLog;
+    private Thread writer;
+    private volatile boolean running;
+
+    public OrderIngestService(OrderService orderService,
+                              OrderIdempotencyStore orderIdempotencyStore,
+                              OrderRepository orderRepository,
+                              MenuItemRepository menuItemRepository,
+                              SizeOptionRepository sizeOptionRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${burgerstream.orders.ingest.enabled:false}") boolean enabled,
+                              @Value("${burgerstream.orders.ingest.queue-capacity:10000}") int queueCapacity,
+                              @Value("${burgerstream.orders.ingest.batch-size:200}") int batchSize,
+                              @Value("${burgerstream.orders.ingest.offer-timeout-ms:50}") long offerTimeoutMillis,
+                              @Value("${burgerstream.orders.ingest.wal-path:data/order-ingest.wal}") String walPath) {
+        this.orderService = orderService;
+        this.orderIdempotencyStore = orderIdempotencyStore;
+        this.orderRepository = orderRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.sizeOptionRepository = sizeOptionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.walPath = Path.of(walPath);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.capacity = new Semaphore(queueCapacity);
+        this.rejectedReferences = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > queueCapacity;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start(){
+        if (!enabled) return;
+
+        writeAheadLog = new OrderWriteAheadLog(walPath);
+
+        running = true;
+        writer = new Thread(this::drainQueue, "order-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        // The writer is already draining, so a log with more orders than the queue holds can still be replayed.
+        replayWriteAheadLog();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!enabled) return;
+
+        // Whatever is still queued stays in the write-ahead log and is replayed on the next start.
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        writeAheadLog.close();
+    }
+
+    public OrderReceipt submit(Order order){
+        if (!enabled) throw new IllegalStateException("Order ingest mode is not enabled");
+        orderService.prepareNewOrder(order);
+        acquireCapacity();
+
+        try {
+            return enqueue(order);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    // Submit with an Idempotency-Key. Room in the queue is taken before the key is claimed, so a full queue turns the
+    // request away without touching the database, and the write-ahead log is appended with no transaction open.
+    public OrderIdempotencyStore.Response submit(Order order, String idempotencyKey, int status){
+        if (!enabled) throw new IllegalStateException("Order ingest mode is not enabled");
+        orderService.prepareNewOrder(order);
+        acquireCapacity();
+
+        boolean[] enqueued = {false};
+        try {
+            return orderIdempotencyStore.executeOutsideTransaction(idempotencyKey, order, status, () -> {
+                OrderReceipt receipt = enqueue(order);
+                enqueued[0] = true;
+                return receipt;
+            });
+        } finally {
+            if (!enqueued[0]) capacity.release();
+        }
+    }
+
+    public OrderReceipt getReceipt(String reference){
+        if (pendingReferences.contains(reference)){
+            return OrderReceipt.queued(reference);
+        }
+        if (isRejected(reference)){
+            return OrderReceipt.rejected(reference);
+        }
+        return orderRepository.findByReference(reference)
+                .map(order -> OrderReceipt.committed(reference, order.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Order with reference: " + reference + " does not exist"));
+    }
+
+    private void acquireCapacity(){
+        try {
+            if (!capacity.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)){
+                throw new OrderIngestBackpressureException("Order queue is full, try again shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderIngestBackpressureException("Interrupted while waiting for room in the order queue");
+        }
+    }
+
+    // Needs room in the queue taken for the order.
+    private OrderReceipt enqueue(Order order){
+        OrderIngestRecord ingestRecord = OrderIngestRecord.from(UUID.randomUUID().toString(), order);
+        writeAheadLog.append(ingestRecord);
+        pendingReferences.add(ingestRecord.reference());
+        queue.add(ingestRecord);
+
+        return OrderReceipt.queued(ingestRecord.reference());
+    }
+
+    private void replayWriteAheadLog(){
+        List<OrderIngestRecord> pending = writeAheadLog.readPending();
+        if (pending.isEmpty()) return;
+
+        // The crash may have happened after a group was committed but before its DONE line was written.
+        Set<String> alreadyCommitted = orderRepository.findExistingReferences(
+                pending.stream().map(OrderIngestRecord::reference).toList());
+        List<OrderIngestRecord> replay = pending.stream()
+                .filter(ingestRecord -> !alreadyCommitted.contains(ingestRecord.reference()))
+                .toList();
+
+        writeAheadLog.rewrite(replay);
+        for (OrderIngestRecord ingestRecord : replay){
+            capacity.acquireUninterruptibly();
+            pendingReferences.add(ingestRecord.reference());
+            queue.add(ingestRecord);
+        }
+        log.info("Replayed {} acknowledged orders from the write-ahead log", replay.size());
+    }
+
+    private void drainQueue(){
+        List<OrderIngestRecord> batch = new ArrayList<>(batchSize);
+        while (running){
+            try {
+                OrderIngestRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                for (OrderIngestRecord ingestRecord : batch){
+                    pendingReferences.remove(ingestRecord.reference());
+                }
+                capacity.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<OrderIngestRecord> batch) throws InterruptedException {
+        try {
+            saveRetryingTransientFailures(batch);
+        } catch (RuntimeException e) {
+            // One bad order must not take the whole group down with it.
+            log.warn("Group commit of {} orders failed, committing them one by one", batch.size(), e);
+            commitOneByOne(batch);
+            return;
+        }
+        writeAheadLog.markDone(batch.stream().map(OrderIngestRecord::reference).toList());
+    }
+
+    private void commitOneByOne(List<OrderIngestRecord> batch) throws InterruptedException {
+        for (OrderIngestRecord ingestRecord : batch){
+            try {
+                saveRetryingTransientFailures(List.of(ingestRecord));
+            } catch (RuntimeException e) {
+                // Not a database outage, the order itself can't be saved (fx its menu item was deleted since it was
+                // acknowledged). Retrying won't help, so it is rejected and its receipt reports that.
+                log.error("Rejected acknowledged order {}", ingestRecord.reference(), e);
+                markRejected(ingestRecord.reference());
+            }
+            writeAheadLog.markDone(List.of(ingestRecord.reference()));
+        }
+    }
+
+    // While the database is unavailable the orders are kept and tried again instead of being dropped. Stopping the
+    // service ends the retries, the orders are then still open in the write-ahead log and replayed on the next start.
+    private void saveRetryingTransientFailures(List<OrderIngestRecord> batch) throws InterruptedException {
+        long backoffMillis = 100;
+        while (true){
+            try {
+                saveInOneTransaction(batch);
+                return;
+            } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+                log.warn("Commit of {} orders failed, retrying in {} ms", batch.size(), backoffMillis, e);
+                if (!running) throw new InterruptedException("Order ingest stopped while retrying");
+                Thread.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, 5_000);
+            }
+        }
+    }
+
+    private void markRejected(String reference){
+        rejectedLock.lock();
+        try {
+            rejectedReferences.put(reference, Boolean.TRUE);
+        } finally {
+            rejectedLock.unlock();
+        }
+    }
+
+    private boolean isRejected(String reference){
+        rejectedLock.lock();
+        try {
+            return rejectedReferences.containsKey(reference);
+        } finally {
+            rejectedLock.unlock();
+        }
+    }
+
+    private void saveInOneTransaction(List<OrderIngestRecord> batch){
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Order> orders = batch.stream()
+                    .map(ingestRecord -> ingestRecord.toOrder(menuItemRepository::getReferenceById, sizeOptionRepository::getReferenceById))
+                    .toList();
+            orderService.saveNewOrders(orders);
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.model.order.OrderItem;
+
+import java.math.BigDecimal;
+
+// What the order endpoints show of an order item, selected column by column instead of loading the item with its
+// menu item and size entities. sizeOptionId, sizeLabel and label are null for items without a size.
+public record OrderItemView(Long orderId,
+                            Long id,
+                            Long menuItemId,
+                            String menuItemName,
+                            Long sizeOptionId,
+                            String label,
+                            String sizeLabel,
+                            Integer amount,
+                            BigDecimal itemEndPrice) {
+
+    // Archived orders are read back as entities, their menu item is null when it was deleted since.
+    public static OrderItemView from(Long orderId, OrderItem item){
+        return new OrderItemView(
+                orderId,
+                item.getId(),
+                item.getMenuItemId(),
+                item.getMenuItem() == null ? null : item.getMenuItem().getName(),
+                item.getSizeOptionId(),
+                item.getSizeOption() == null ? null : item.getSizeOption().getLabel(),
+                item.getSizeOption() == null ? null : item.getSizeOption().getSizeLabel(),
+                item.getAmount(),
+                item.getItemEndPrice());
+    }
+}
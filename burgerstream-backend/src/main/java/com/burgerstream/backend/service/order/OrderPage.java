@@ -0,0 +1,6 @@
+package com.burgerstream.backend.service.order;
+
+import java.util.List;
+
+// nextCursor is null on the last page.
+public record OrderPage(List<OrderView> orders, String nextCursor) { }
@@ -0,0 +1,22 @@
+package com.burgerstream.backend.service.order;
+
+public record OrderReceipt(String reference, Status status, Long orderId) {
+
+    public enum Status {
+        QUEUED,
+        COMMITTED,
+        REJECTED
+    }
+
+    public static OrderReceipt queued(String reference){
+        return new OrderReceipt(reference, Status.QUEUED, null);
+    }
+
+    public static OrderReceipt committed(String reference, Long orderId){
+        return new OrderReceipt(reference, Status.COMMITTED, orderId);
+    }
+
+    public static OrderReceipt rejected(String reference){
+        return new OrderReceipt(reference, Status.REJECTED, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.burgerstream.backend.service.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Filters of the order history search, every one is optional but a search needs a customer or a start date:
+// those are the two that an index can answer, without either the whole orders table would be read.
+public record OrderSearch(String customerEmail, LocalDateTime from, LocalDateTime to, BigDecimal minTotal) {
+
+    public boolean usesIndex(){
+        return (customerEmail != null && !customerEmail.isBlank()) || from != null;
+    }
+}
@@ -1,42 +1,172 @@
 package com.burgerstream.backend.service.order;
 
 import com.burgerstream.backend.exception.InvalidOrderException;
+import com.burgerstream.backend.exception.InvalidOrderSearchException;
+import com.burgerstream.backend.exception.InvalidOrderStatusTransitionException;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.order.Order;
 import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.model.order.OrderStatus;
+import com.burgerstream.backend.repository.order.OrderItemRepository;
 import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.AfterCommit;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
-    private final OrderRepository orderRepository;
+    public static final int MAX_PAGE_SIZE = 200;
 
-    public OrderService(OrderRepository orderRepository) {
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final PricingEngine pricingEngine;
+    private final KitchenEventBroadcaster kitchenEventBroadcaster;
+    private final ActiveOrderBoard activeOrderBoard;
+    private final SalesRollupService salesRollupService;
+    private final OrderArchiveService orderArchiveService;
+
+    public OrderService(OrderRepository orderRepository,
+                        OrderItemRepository orderItemRepository,
+                        PricingEngine pricingEngine,
+                        KitchenEventBroadcaster kitchenEventBroadcaster,
+                        ActiveOrderBoard activeOrderBoard,
+                        SalesRollupService salesRollupService,
+                        OrderArchiveService orderArchiveService) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.pricingEngine = pricingEngine;
+        this.kitchenEventBroadcaster = kitchenEventBroadcaster;
+        this.activeOrderBoard = activeOrderBoard;
+        this.salesRollupService = salesRollupService;
+        this.orderArchiveService = orderArchiveService;
     }
 
+    // The order and its sales rollups are written in one transaction.
+    @Transactional
     public Order createOrder(Order order){
+        prepareNewOrder(order);
+        return saveNewOrders(List.of(order)).getFirst();
+    }
+
+    // Saves prepared orders and their rollups in the caller's transaction, the kitchen hears about them after commit.
+    public List<Order> saveNewOrders(List<Order> orders){
+        for (Order order : orders){
+            for (OrderItem item : order.getOrderItems()){
+                item.setOrder(order);
+            }
+        }
+
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        salesRollupService.ordersCreated(savedOrders);
+        for (Order savedOrder : savedOrders){
+            kitchenEventBroadcaster.orderCreated(savedOrder);
+            AfterCommit.run(() -> activeOrderBoard.add(savedOrder));
+        }
+        return savedOrders;
+    }
+
+    // Validates a new order and prices it from the menu. Client prices, date and reference are not trusted.
+    public void prepareNewOrder(Order order){
         if (order.getOrderItems() == null || order.getOrderItems().isEmpty()) {
             throw new InvalidOrderException("Cannot create order with no items.");
         }
-        for (OrderItem item : order.getOrderItems()){
-            item.setOrder(order);
+        order.setStatus(OrderStatus.PLACED);
+        order.setDate(LocalDateTime.now());
+        order.setReference(null);
+        pricingEngine.price(order);
+    }
+
+    // Recent orders come from the orders table, older ones that were archived from the archive files.
+    @Transactional(readOnly = true)
+    public Order getOrder(Long id){
+        return orderRepository.findWithItemsById(id)
+                .or(() -> orderArchiveService.findArchivedOrder(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order with id: " + id + " does not exist"));
+    }
+
+    // The GET endpoints read views: the order columns and the item columns they show, no entities.
+    @Transactional(readOnly = true)
+    public OrderView getOrderView(Long id){
+        return orderRepository.findViewById(id)
+                .map(order -> order.withItems(orderItemRepository.findViewsByOrderIdIn(List.of(id))))
+                .or(() -> orderArchiveService.findArchivedOrder(id).map(OrderView::from))
+                .orElseThrow(() -> new ResourceNotFoundException("Order with id: " + id + " does not exist"));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPage getOrderPage(String cursor, int limit){
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        List<OrderView> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstPageViews(Limit.of(pageSize));
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findPageViewsAfter(position.date(), position.id(), Limit.of(pageSize));
+        }
+
+        String nextCursor = orders.size() < pageSize ? null : OrderCursor.after(orders.getLast()).encode();
+        return new OrderPage(withItems(orders), nextCursor);
+    }
+
+    // Order history by customer and/or date range, optionally above a minimum total, newest first with the same
+    // cursors as getOrderPage.
+    @Transactional(readOnly = true)
+    public OrderPage searchOrders(OrderSearch search, String cursor, int limit){
+        if (!search.usesIndex()) {
+            throw new InvalidOrderSearchException("Search orders by customerEmail and/or a from date");
+        }
+        if (search.from() != null && search.to() != null && !search.from().isBefore(search.to())) {
+            throw new InvalidOrderSearchException("from must be before to");
         }
 
-        return this.orderRepository.save(order);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        List<OrderView> orders = orderRepository.searchViews(search, after, pageSize);
+
+        String nextCursor = orders.size() < pageSize ? null : OrderCursor.after(orders.getLast()).encode();
+        return new OrderPage(withItems(orders), nextCursor);
     }
 
-    public Order getOrder(Long id){
-        return orderRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Order with id: " + id + " does not exist"));
+    // Streams the order history as views, newest first, in keyset chunks of a page. No connection is held while the
+    // consumer writes to a slow client.
+    public void streamAllOrders(Consumer<OrderView> consumer){
+        List<OrderView> chunk = orderRepository.findFirstPageViews(Limit.of(MAX_PAGE_SIZE));
+        while (!chunk.isEmpty()) {
+            withItems(chunk).forEach(consumer);
+            if (chunk.size() < MAX_PAGE_SIZE) return;
+
+            OrderView last = chunk.getLast();
+            chunk = orderRepository.findPageViewsAfter(last.date(), last.id(), Limit.of(MAX_PAGE_SIZE));
+        }
     }
 
-    public List<Order> getAllOrders(){
-        return orderRepository.findAll();
+    // Moves the order one step along PLACED -> PREPARING -> READY -> COLLECTED.
+    @Transactional
+    public Order advanceStatus(Long id, OrderStatus to){
+        OrderStatus from = to.previous();
+        if (from == null) {
+            throw new InvalidOrderStatusTransitionException("An order cannot be moved back to " + to);
+        }
+
+        if (orderRepository.updateStatus(id, from, to) == 0) {
+            OrderStatus current = orderRepository.findStatusById(id).orElseThrow(() -> new ResourceNotFoundException("Order with id: " + id + " does not exist"));
+            throw new InvalidOrderStatusTransitionException("Order with id: " + id + " is " + current + ", only a " + from + " order can become " + to);
+        }
+
+        AfterCommit.run(() -> activeOrderBoard.move(id, from, to));
+        kitchenEventBroadcaster.orderStatusChanged(id, from, to);
+        return getOrder(id);
     }
 
     public Order updateCostumerDetails(Long id, Order newCustomerDetails){
@@ -48,10 +178,13 @@ public class OrderService {
         return orderRepository.save(oldOrderDetails);
     }
 
+    @Transactional
     public Map<String, Boolean> deleteOrder(Long id){
-        Order order = orderRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Order with id: " + id + " does not exist"));
+        Order order = orderRepository.findWithItemsById(id).orElseThrow( () -> new ResourceNotFoundException("Order with id: " + id + " does not exist"));
 
         orderRepository.delete(order);
+        salesRollupService.orderDeleted(order);
+        AfterCommit.run(() -> activeOrderBoard.remove(id));
 
         Map<String, Boolean> response = new HashMap<>();
         response.put("Deleted", Boolean.TRUE);
@@ -59,8 +192,20 @@ public class OrderService {
         return response;
     }
 
-    public List<OrderItem> getOrderItemsFromOrder(Long id){
-        Order order = orderRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Order with id: " + id + " does not exist"));
-        return order.getOrderItems();
+    @Transactional(readOnly = true)
+    public List<OrderItemView> getOrderItemsFromOrder(Long id){
+        return getOrderView(id).orderItems();
+    }
+
+    // One query for the items of all orders on a page.
+    private List<OrderView> withItems(List<OrderView> orders){
+        if (orders.isEmpty()) return orders;
+
+        Map<Long, List<OrderItemView>> itemsByOrder = orderItemRepository.findViewsByOrderIdIn(orders.stream().map(OrderView::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemView::orderId));
+        return orders.stream()
+                .map(order -> order.withItems(itemsByOrder.getOrDefault(order.id(), List.of())))
+                .toList();
     }
 }
\ No newline at end of file
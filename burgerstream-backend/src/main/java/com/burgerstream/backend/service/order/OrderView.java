@@ -0,0 +1,37 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Read model of an order for the GET endpoints. The order columns come from one constructor projection,
+// the items from a second one, so nothing is hydrated into the persistence context or dirty-checked.
+public record OrderView(Long id,
+                        LocalDateTime date,
+                        BigDecimal orderEndPrice,
+                        String customerName,
+                        String customerEmail,
+                        String reference,
+                        OrderStatus status,
+                        List<OrderItemView> orderItems) {
+
+    public OrderView(Long id, LocalDateTime date, BigDecimal orderEndPrice, String customerName, String customerEmail,
+                     String reference, OrderStatus status){
+        this(id, date, orderEndPrice, customerName, customerEmail, reference, status, List.of());
+    }
+
+    public OrderView withItems(List<OrderItemView> orderItems){
+        return new OrderView(id, date, orderEndPrice, customerName, customerEmail, reference, status, orderItems);
+    }
+
+    public static OrderView from(Order order){
+        List<OrderItemView> items = order.getOrderItems().stream()
+                .map(item -> OrderItemView.from(order.getId(), item))
+                .toList();
+        return new OrderView(order.getId(), order.getDate(), order.getOrderEndPrice(), order.getCustomerName(),
+                order.getCustomerEmail(), order.getReference(), order.getStatus(), items);
+    }
+}
@@ -0,0 +1,163 @@
+package com.burgerstream.backend.service.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Append-only JSON lines file holding every order the ingest pipeline has acknowledged.
+// An order line is forced to disk before the order is acknowledged, a DONE line is added once it is
+// committed (or rejected) so a restart only replays orders that were acknowledged but never written.
+public class OrderWriteAheadLog implements AutoCloseable {
+
+    private static final String ORDER = "ORDER";
+    private static final String DONE = "DONE";
+
+    private final Path path;
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final FileChannel channel;
+    // Not synchronized: a virtual thread blocked on fsync would pin its carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    private int openEntries;
+
+    public record Entry(String type, OrderIngestRecord order, List<String> references) { }
+
+    public OrderWriteAheadLog(Path path){
+        this.path = path;
+        try {
+            if (path.getParent() != null){
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order write-ahead log " + path, e);
+        }
+    }
+
+    // Orders that were acknowledged but have no DONE line, in the order they were accepted.
+    public List<OrderIngestRecord> readPending(){
+        lock.lock();
+        try {
+            Map<String, OrderIngestRecord> pending = new LinkedHashMap<>();
+            Set<String> done = new HashSet<>();
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null){
+                    if (line.isBlank()) continue;
+                    Entry entry;
+                    try {
+                        entry = objectMapper.readValue(line, Entry.class);
+                    } catch (IOException e) {
+                        // A torn last line from a crash mid-write, the order on it was never acknowledged.
+                        continue;
+                    }
+                    if (ORDER.equals(entry.type())){
+                        pending.put(entry.order().reference(), entry.order());
+                    } else if (DONE.equals(entry.type())){
+                        done.addAll(entry.references());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read order write-ahead log " + path, e);
+            }
+            done.forEach(pending::remove);
+            openEntries = pending.size();
+            return List.copyOf(pending.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void append(OrderIngestRecord order){
+        lock.lock();
+        try {
+            write(new Entry(ORDER, order, null));
+            openEntries++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void markDone(Collection<String> references){
+        lock.lock();
+        try {
+            if (references.isEmpty()) return;
+            write(new Entry(DONE, null, List.copyOf(references)));
+            openEntries -= references.size();
+
+            // Nothing left to replay, so the log can start over instead of growing forever.
+            if (openEntries <= 0){
+                openEntries = 0;
+                try {
+                    channel.truncate(0);
+                    channel.force(true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not truncate order write-ahead log " + path, e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rewrites the log with only the given pending orders, used after a replay.
+    public void rewrite(List<OrderIngestRecord> pending){
+        lock.lock();
+        try {
+            try {
+                channel.truncate(0);
+                openEntries = 0;
+                for (OrderIngestRecord order : pending){
+                    append(order);
+                }
+                channel.force(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not rewrite order write-ahead log " + path, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not close order write-ahead log " + path, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Entry entry){
+        try {
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to order write-ahead log " + path, e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.burgerstream.backend.service.order;
+
+import com.burgerstream.backend.exception.InvalidOrderException;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.service.menu.MenuPriceTable;
+import com.burgerstream.backend.service.menu.MenuSnapshot;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import org.springframework.stereotype.Component;
+
+// Prices orders on the server from MenuItem.basePrice and SizeOption.extraPrice, any price sent by the client is overwritten.
+// Everything is looked up in the current menu snapshot's price table and summed in cents, so pricing an order
+// costs no repository calls and only one BigDecimal per item plus one for the total.
+@Component
+public class PricingEngine {
+
+    private final MenuSnapshotCache menuSnapshotCache;
+
+    public PricingEngine(MenuSnapshotCache menuSnapshotCache){
+        this.menuSnapshotCache = menuSnapshotCache;
+    }
+
+    public Order price(Order order){
+        MenuSnapshot menu = menuSnapshotCache.current();
+        MenuPriceTable priceTable = menu.getPriceTable();
+
+        long orderTotalCents = 0;
+        for (OrderItem item : order.getOrderItems()){
+            Long menuItemId = item.getMenuItemId();
+            Long sizeOptionId = item.getSizeOptionId();
+            Integer amount = item.getAmount();
+
+            if (menuItemId == null) {
+                throw new InvalidOrderException("Every order item must reference a menu item.");
+            }
+            if (amount == null || amount < 1) {
+                throw new InvalidOrderException("Order item amount must be at least 1.");
+            }
+
+            long unitPriceCents = priceTable.unitPriceCents(menuItemId, sizeOptionId == null ? MenuPriceTable.NO_SIZE : sizeOptionId);
+            if (unitPriceCents < 0) {
+                throw new InvalidOrderException(sizeOptionId == null
+                        ? "Menu item with id: " + menuItemId + " does not exist"
+                        : "Size with id: " + sizeOptionId + " is not available for menu item with id: " + menuItemId);
+            }
+
+            // Shared detached entities of the published snapshot, the items only refer to them and never change them.
+            MenuItem menuItem = menu.findMenuItem(menuItemId).orElseThrow();
+            SizeOption sizeOption = sizeOptionId == null ? null : menu.findSizeOption(sizeOptionId).orElseThrow();
+            item.setMenuItem(menuItem);
+            item.setSizeOption(sizeOption);
+
+            long itemTotalCents = Math.multiplyExact(unitPriceCents, amount);
+            item.setItemEndPrice(MenuPriceTable.fromCents(itemTotalCents));
+            orderTotalCents = Math.addExact(orderTotalCents, itemTotalCents);
+        }
+
+        order.setOrderEndPrice(MenuPriceTable.fromCents(orderTotalCents));
+        return order;
+    }
+}
@@ -0,0 +1,81 @@
+-- The schema of the last release before Flyway, as Hibernate's ddl-auto=update created it. Databases created by that
+-- release are baselined at this version (spring.flyway.baseline-on-migrate) and get V2 and later on the first start.
+
+CREATE TABLE menu_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    base_price DECIMAL(10,2) NOT NULL,
+    image_url VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE burgers (
+    id BIGINT NOT NULL,
+    is_vegan BIT,
+    is_chicken BIT,
+    is_lactose_free BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_burgers_menu_item FOREIGN KEY (id) REFERENCES menu_items (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE drinks (
+    id BIGINT NOT NULL,
+    is_carbonated BIT,
+    is_lactose_free BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_drinks_menu_item FOREIGN KEY (id) REFERENCES menu_items (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE sides (
+    id BIGINT NOT NULL,
+    is_shareable BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_sides_menu_item FOREIGN KEY (id) REFERENCES menu_items (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE size_options (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    label VARCHAR(255) NOT NULL,
+    size_label VARCHAR(255) NOT NULL,
+    extra_price DECIMAL(10,2) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE drink_size_options (
+    menu_item_id BIGINT NOT NULL,
+    size_option_id BIGINT NOT NULL,
+    PRIMARY KEY (menu_item_id, size_option_id),
+    CONSTRAINT fk_drink_size_options_drink FOREIGN KEY (menu_item_id) REFERENCES drinks (id),
+    CONSTRAINT fk_drink_size_options_size FOREIGN KEY (size_option_id) REFERENCES size_options (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE side_size_options (
+    menu_item_id BIGINT NOT NULL,
+    size_option_id BIGINT NOT NULL,
+    PRIMARY KEY (menu_item_id, size_option_id),
+    CONSTRAINT fk_side_size_options_side FOREIGN KEY (menu_item_id) REFERENCES sides (id),
+    CONSTRAINT fk_side_size_options_size FOREIGN KEY (size_option_id) REFERENCES size_options (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    date DATETIME(6) NOT NULL,
+    order_end_price DECIMAL(10,2) NOT NULL,
+    customer_name VARCHAR(255) NOT NULL,
+    customer_email VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id BIGINT NOT NULL,
+    menu_item_id BIGINT NOT NULL,
+    size_option_id BIGINT,
+    amount INTEGER,
+    item_end_price DECIMAL(10,2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_menu_item FOREIGN KEY (menu_item_id) REFERENCES menu_items (id),
+    CONSTRAINT fk_order_items_size_option FOREIGN KEY (size_option_id) REFERENCES size_options (id)
+) ENGINE=InnoDB;
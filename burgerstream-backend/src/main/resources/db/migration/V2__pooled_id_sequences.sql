@@ -0,0 +1,23 @@
+-- Creates and seeds the id sequence tables that replace the IDENTITY ids of V1. On a new database they start at the
+-- first id, on a baselined one they continue after the existing rows.
+--
+-- MySQL has no sequences, so Hibernate emulates each one with a single-row table. With the pooled
+-- optimizer (allocationSize = 50) a stored value V hands out the ids V-49..V, so every table is
+-- seeded with MAX(id) + 50 to continue right after the existing rows.
+-- The AUTO_INCREMENT attribute of the V1 id columns can stay, explicit ids are accepted as they are.
+
+CREATE TABLE menu_items_seq (next_val BIGINT);
+INSERT INTO menu_items_seq (next_val)
+    SELECT COALESCE(MAX(id), 0) + 50 FROM menu_items;
+
+CREATE TABLE size_options_seq (next_val BIGINT);
+INSERT INTO size_options_seq (next_val)
+    SELECT COALESCE(MAX(id), 0) + 50 FROM size_options;
+
+CREATE TABLE orders_seq (next_val BIGINT);
+INSERT INTO orders_seq (next_val)
+    SELECT COALESCE(MAX(id), 0) + 50 FROM orders;
+
+CREATE TABLE order_items_seq (next_val BIGINT);
+INSERT INTO order_items_seq (next_val)
+    SELECT COALESCE(MAX(id), 0) + 50 FROM order_items;
@@ -0,0 +1,10 @@
+-- Optimistic locking of menu items and size options, the kitchen status of orders and the client order reference.
+-- Orders placed before the kitchen board existed have all been handed out, so they become COLLECTED.
+
+ALTER TABLE menu_items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE size_options ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE orders ADD COLUMN reference VARCHAR(36);
+ALTER TABLE orders ADD CONSTRAINT uk_orders_reference UNIQUE (reference);
+ALTER TABLE orders ADD COLUMN status ENUM('PLACED','PREPARING','READY','COLLECTED') DEFAULT 'COLLECTED' NOT NULL;
+CREATE INDEX idx_orders_status ON orders (status);
@@ -0,0 +1,3 @@
+-- Indexes for the order history search, by customer email and date or by date alone.
+CREATE INDEX idx_orders_customer_email_date ON orders (customer_email, date);
+CREATE INDEX idx_orders_date ON orders (date);
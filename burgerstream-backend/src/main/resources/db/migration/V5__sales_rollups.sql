@@ -0,0 +1,19 @@
+-- Sales rollups, the primary keys lead with granularity and bucket_start so the range reads and the upserts use them.
+-- They start empty, the rebuild-rollups profile fills them from the orders that already exist.
+CREATE TABLE order_rollups (
+    granularity ENUM('MINUTE','HOUR') NOT NULL,
+    bucket_start DATETIME(6) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (granularity, bucket_start)
+) ENGINE=InnoDB;
+
+CREATE TABLE item_rollups (
+    granularity ENUM('MINUTE','HOUR') NOT NULL,
+    bucket_start DATETIME(6) NOT NULL,
+    menu_item_id BIGINT NOT NULL,
+    size_option_id BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    revenue DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, menu_item_id, size_option_id)
+) ENGINE=InnoDB;
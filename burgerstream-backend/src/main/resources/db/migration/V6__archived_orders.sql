@@ -0,0 +1,7 @@
+-- Where each archived order went, so it can still be looked up by id.
+CREATE TABLE archived_orders (
+    order_id BIGINT NOT NULL,
+    date DATETIME(6) NOT NULL,
+    archive_file VARCHAR(100) NOT NULL,
+    PRIMARY KEY (order_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,11 @@
+-- Stored responses of POST /orders by Idempotency-Key, the index serves the cleanup of expired keys.
+CREATE TABLE order_idempotency_keys (
+    idempotency_key VARCHAR(64) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INTEGER,
+    response_body LONGTEXT,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_order_idempotency_keys_expires_at ON order_idempotency_keys (expires_at);
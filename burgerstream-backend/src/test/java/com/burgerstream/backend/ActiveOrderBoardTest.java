@@ -0,0 +1,141 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.order.OrderStatus;
+import com.burgerstream.backend.service.kitchen.KitchenOrder;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ActiveOrderBoardTest {
+
+    private ActiveOrderBoard board;
+
+    @BeforeEach
+    void setUp(){
+        board = new ActiveOrderBoard(null, null);
+    }
+
+    @Test
+    void move_followsLifecycleAndCollectedLeavesTheBoard(){
+        board.add(order(1L), OrderStatus.PLACED);
+        board.add(order(2L), OrderStatus.PLACED);
+
+        assertThat(board.move(1L, OrderStatus.PLACED, OrderStatus.PREPARING)).isTrue();
+
+        assertThat(board.getOrders(OrderStatus.PLACED)).extracting(KitchenOrder::orderId).containsExactly(2L);
+        assertThat(board.getOrders(OrderStatus.PREPARING)).extracting(KitchenOrder::orderId).containsExactly(1L);
+
+        board.move(1L, OrderStatus.PREPARING, OrderStatus.READY);
+        board.move(1L, OrderStatus.READY, OrderStatus.COLLECTED);
+
+        assertThat(board.getBoard().values()).flatMap(orders -> orders).extracting(KitchenOrder::orderId).containsExactly(2L);
+    }
+
+    @Test
+    void move_fromWrongStatus_isRejected(){
+        board.add(order(1L), OrderStatus.PLACED);
+
+        assertThat(board.move(1L, OrderStatus.PREPARING, OrderStatus.READY)).isFalse();
+        assertThat(board.getOrders(OrderStatus.PLACED)).hasSize(1);
+    }
+
+    @Test
+    void move_concurrentSameTransition_onlyOneWins() throws Exception {
+        board.add(order(1L), OrderStatus.PLACED);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> board.move(1L, OrderStatus.PLACED, OrderStatus.PREPARING)))
+                    .toList();
+
+            long winners = 0;
+            for (Future<Boolean> result : results){
+                if (result.get(5, TimeUnit.SECONDS)) winners++;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(board.getOrders(OrderStatus.PREPARING)).hasSize(1);
+        assertThat(board.getOrders(OrderStatus.PLACED)).isEmpty();
+    }
+
+    @Test
+    void add_racingMoveOfTheSameOrder_neverLeavesItInTheOldStatus() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (long id = 1; id <= 50000; id++){
+                long orderId = id;
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> add = executor.submit(() -> {
+                    start.await();
+                    board.add(order(orderId), OrderStatus.PLACED);
+                    return null;
+                });
+                Future<?> move = executor.submit(() -> {
+                    start.await();
+                    while (!board.move(orderId, OrderStatus.PLACED, OrderStatus.PREPARING)){
+                        Thread.onSpinWait();
+                    }
+                    return null;
+                });
+                start.countDown();
+                add.get(5, TimeUnit.SECONDS);
+                move.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(board.getOrders(OrderStatus.PLACED)).isEmpty();
+        assertThat(board.getOrders(OrderStatus.PREPARING)).hasSize(50000);
+    }
+
+    @Test
+    void add_orderAlreadyMovedOn_keepsItInItsCurrentStatus(){
+        board.add(order(1L), OrderStatus.PLACED);
+        board.move(1L, OrderStatus.PLACED, OrderStatus.PREPARING);
+
+        board.add(order(1L), OrderStatus.PLACED);
+
+        assertThat(board.getOrders(OrderStatus.PLACED)).isEmpty();
+        assertThat(board.getOrders(OrderStatus.PREPARING)).extracting(KitchenOrder::orderId).containsExactly(1L);
+    }
+
+    @Test
+    void add_afterTheOrderWasMovedOn_putsItInItsCurrentStatus(){
+        assertThat(board.move(1L, OrderStatus.PLACED, OrderStatus.PREPARING)).isTrue();
+        board.move(1L, OrderStatus.PREPARING, OrderStatus.READY);
+
+        board.add(order(1L), OrderStatus.PLACED);
+
+        assertThat(board.getOrders(OrderStatus.PLACED)).isEmpty();
+        assertThat(board.getOrders(OrderStatus.READY)).extracting(KitchenOrder::orderId).containsExactly(1L);
+    }
+
+    @Test
+    void add_afterTheOrderWasCollected_leavesItOffTheBoard(){
+        board.move(1L, OrderStatus.PLACED, OrderStatus.PREPARING);
+        board.move(1L, OrderStatus.PREPARING, OrderStatus.READY);
+        board.move(1L, OrderStatus.READY, OrderStatus.COLLECTED);
+
+        board.add(order(1L), OrderStatus.PLACED);
+
+        assertThat(board.getBoard().values()).allSatisfy(orders -> assertThat(orders).isEmpty());
+    }
+
+    private KitchenOrder order(Long id){
+        return new KitchenOrder(id, null, LocalDateTime.now(), "John Doe", List.of());
+    }
+}
@@ -1,10 +1,13 @@
 package com.burgerstream.backend;
 
 import com.burgerstream.backend.component.MenuItemValidator;
+import com.burgerstream.backend.component.OptimisticLockRetry;
+import com.burgerstream.backend.exception.MenuUpdateConflictException;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.Burger;
 import com.burgerstream.backend.repository.menu.BurgerRepository;
 import com.burgerstream.backend.service.menu.BurgerService;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
-@Import({BurgerService.class, MenuItemValidator.class})
+@Import({BurgerService.class, MenuItemValidator.class, MenuSnapshotCache.class, OptimisticLockRetry.class})
 public class BurgerServiceIntegrationTest {
 
     @Autowired
@@ -137,6 +140,21 @@ public class BurgerServiceIntegrationTest {
         assertThat(updateBurger.getBasePrice()).isEqualTo(BigDecimal.valueOf(55.00));
     }
 
+    @Test
+    void updateBurger_withStaleVersion_throwsMenuUpdateConflictException(){
+        burger = burgerRepository.saveAndFlush(burger);
+        Long burgerId = burger.getId();
+
+        Burger newBurgerDetails = new Burger();
+        newBurgerDetails.setName("Base Burger");
+        newBurgerDetails.setBasePrice(BigDecimal.valueOf(55.00));
+        newBurgerDetails.setVersion(burger.getVersion() + 1);
+
+        assertThatThrownBy(() -> burgerService.updateBurger(burgerId, newBurgerDetails))
+                .isInstanceOf(MenuUpdateConflictException.class);
+        assertThat(burgerRepository.findById(burgerId).orElseThrow().getName()).isNotEqualTo("Base Burger");
+    }
+
     @Test
     void updateBurger_invalidIdAndUpdateBurger_throwsResourceNotFoundException(){
         Burger newBurgerDetails = new Burger();
@@ -0,0 +1,58 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.config.ConnectionPermitDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConnectionPermitDataSourceTest {
+
+    private ConnectionPermitDataSource dataSource;
+
+    @BeforeEach
+    void setUp(){
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:permits;DB_CLOSE_DELAY=-1");
+        dataSource = new ConnectionPermitDataSource(h2, 1, 50);
+    }
+
+    @Test
+    void getConnection_noPermitLeft_timesOut() throws SQLException {
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThatThrownBy(() -> dataSource.getConnection())
+                    .isInstanceOf(SQLTransientConnectionException.class);
+        }
+    }
+
+    @Test
+    void close_releasesPermitOnlyOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        try (Connection next = dataSource.getConnection()) {
+            assertThat(next.isValid(1)).isTrue();
+        }
+    }
+
+    @Test
+    void close_closesTheWrappedPool() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:permits;DB_CLOSE_DELAY=-1");
+
+        new ConnectionPermitDataSource(pool, 1, 50).close();
+
+        assertThat(pool.isClosed()).isTrue();
+    }
+}
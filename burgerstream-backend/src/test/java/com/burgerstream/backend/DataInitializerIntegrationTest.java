@@ -0,0 +1,77 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.config.DataInitializer;
+import com.burgerstream.backend.repository.menu.BurgerRepository;
+import com.burgerstream.backend.repository.menu.DrinkRepository;
+import com.burgerstream.backend.repository.menu.MenuItemRepository;
+import com.burgerstream.backend.repository.menu.SideRepository;
+import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The seeder is created by hand instead of activating the seed profile, so it runs inside the test transaction and
+// its rows are rolled back instead of being left behind for the other tests.
+@DataJpaTest
+public class DataInitializerIntegrationTest {
+
+    @Autowired
+    private SizeOptionRepository sizeOptionRepository;
+
+    @Autowired
+    private BurgerRepository burgerRepository;
+
+    @Autowired
+    private SideRepository sideRepository;
+
+    @Autowired
+    private DrinkRepository drinkRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private DataInitializer dataInitializer;
+
+    @BeforeEach
+    void setUp(){
+        dataInitializer = new DataInitializer(sizeOptionRepository, burgerRepository, sideRepository, drinkRepository,
+                orderRepository, transactionManager);
+    }
+
+    @Test
+    void run_onEmptyMenu_seedsMenuAndOrder() throws Exception {
+        dataInitializer.run();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(sizeOptionRepository.count()).isEqualTo(3);
+        assertThat(menuItemRepository.count()).isEqualTo(6);
+        assertThat(orderRepository.findAll()).singleElement()
+                .satisfies(order -> assertThat(order.getOrderItems()).hasSize(2));
+    }
+
+    @Test
+    void run_again_leavesExistingMenuAlone() throws Exception {
+        dataInitializer.run();
+        dataInitializer.run();
+        entityManager.flush();
+
+        assertThat(menuItemRepository.count()).isEqualTo(6);
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.config.ConnectionPermitDataSource;
+import com.burgerstream.backend.config.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Both the replica routing and the connection permits wrap the DataSource bean. The permits have to be outermost so
+// they also limit connections to the replicas.
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "burgerstream.datasource.replica.urls=jdbc:h2:mem:chain-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "burgerstream.datasource.replica.lag-query=select 0"
+})
+public class DataSourceChainIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void dataSource_virtualThreadsAndReplicas_permitsWrapTheRoutingWhichWrapsThePool(){
+        assertThat(dataSource).isInstanceOf(ConnectionPermitDataSource.class);
+        DataSource routing = ((ConnectionPermitDataSource) dataSource).getTargetDataSource();
+        assertThat(routing).isInstanceOf(ReplicaRoutingDataSource.class);
+        assertThat(((ReplicaRoutingDataSource) routing).getTargetDataSource()).isInstanceOf(HikariDataSource.class);
+    }
+}
@@ -1,12 +1,14 @@
 package com.burgerstream.backend;
 
 import com.burgerstream.backend.component.MenuItemValidator;
+import com.burgerstream.backend.component.OptimisticLockRetry;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.Drink;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.repository.menu.DrinkRepository;
 import com.burgerstream.backend.repository.menu.SizeOptionRepository;
 import com.burgerstream.backend.service.menu.DrinkService;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
-@Import({DrinkService.class, MenuItemValidator.class})
+@Import({DrinkService.class, MenuItemValidator.class, MenuSnapshotCache.class, OptimisticLockRetry.class})
 public class DrinkServiceIntegrationTest {
 
     @Autowired
@@ -0,0 +1,91 @@
+package com.burgerstream.backend;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The schema comes from the migrations instead of the entities here, and Hibernate validates the entities against it,
+// so a mapping change without a migration fails this test. Runs on the H2 MySQL-mode test database with the MySQL 8
+// dialect, so Hibernate expects the id sequence tables and column types it would find on MySQL. db/h2 only holds a
+// callback for a column type H2 reports differently.
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/h2",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.properties.jakarta.persistence.database-product-name=MySQL",
+        "spring.jpa.properties.jakarta.persistence.database-major-version=8",
+        "spring.jpa.properties.jakarta.persistence.database-minor-version=0"
+})
+public class FlywayMigrationIntegrationTest {
+
+    private static final String COLUMNS = """
+            select table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable
+            from information_schema.columns
+            where table_schema = 'PUBLIC' and table_name <> 'flyway_schema_history'
+            order by 1""";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_emptyDatabase_appliesEveryMigrationAndSchemaMatchesEntities(){
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(String::valueOf))
+                .containsExactly("1", "2", "3", "4", "5", "6", "7");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void migrate_emptyDatabase_seedsIdSequencesAtTheFirstPooledBlock(){
+        for (String sequence : new String[]{"menu_items_seq", "size_options_seq", "orders_seq", "order_items_seq"}){
+            assertThat(jdbcTemplate.queryForList("select next_val from " + sequence, Long.class))
+                    .as(sequence)
+                    .containsExactly(50L);
+        }
+    }
+
+    @Test
+    void migrate_databaseOfTheReleaseBeforeFlyway_baselinesAtV1AndEndsWithTheSameSchema(){
+        JdbcDataSource released = new JdbcDataSource();
+        released.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/released/schema.sql")).execute(released);
+
+        Flyway upgrade = Flyway.configure()
+                .dataSource(released)
+                .locations("classpath:db/migration", "classpath:db/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        upgrade.migrate();
+
+        List<MigrationInfo> applied = Arrays.asList(upgrade.info().applied());
+        assertThat(applied.getFirst().getState()).isEqualTo(MigrationState.BASELINE);
+        assertThat(applied.stream().skip(1).map(MigrationInfo::getVersion).map(String::valueOf))
+                .containsExactly("2", "3", "4", "5", "6", "7");
+
+        JdbcTemplate upgraded = new JdbcTemplate(released);
+        assertThat(upgraded.queryForList(COLUMNS, String.class)).isNotEmpty().isEqualTo(jdbcTemplate.queryForList(COLUMNS, String.class));
+        assertThat(upgraded.queryForObject("select next_val from menu_items_seq", Long.class)).isEqualTo(7 + 50);
+        assertThat(upgraded.queryForObject("select next_val from size_options_seq", Long.class)).isEqualTo(3 + 50);
+        assertThat(upgraded.queryForObject("select next_val from orders_seq", Long.class)).isEqualTo(12 + 50);
+        assertThat(upgraded.queryForObject("select next_val from order_items_seq", Long.class)).isEqualTo(40 + 50);
+        assertThat(upgraded.queryForObject("select status from orders where id = 12", String.class)).isEqualTo("COLLECTED");
+        assertThat(upgraded.queryForObject("select version from menu_items where id = 7", Long.class)).isZero();
+    }
+}
@@ -0,0 +1,124 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.service.kitchen.KitchenEvent;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.kitchen.KitchenEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KitchenEventBroadcasterTest {
+
+    private KitchenEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp(){
+        broadcaster = new KitchenEventBroadcaster(null, 10, 4, 60_000);
+    }
+
+    @Test
+    void publish_everySubscriberReceivesEventsInOrder() throws InterruptedException {
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        broadcaster.subscribe(null, first);
+        broadcaster.subscribe(null, second);
+
+        KitchenEvent a = broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", 1));
+        KitchenEvent b = broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", 2));
+
+        assertThat(first.next()).isEqualTo(a);
+        assertThat(first.next()).isEqualTo(b);
+        assertThat(second.next()).isEqualTo(a);
+        assertThat(second.next()).isEqualTo(b);
+        assertThat(a.data()).isEqualTo("{\"orderId\":1}");
+    }
+
+    @Test
+    void subscribe_withLastEventId_resumesAfterThatEvent() throws InterruptedException {
+        KitchenEvent a = broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", 1));
+        KitchenEvent b = broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", 2));
+        KitchenEvent c = broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", 3));
+
+        RecordingSink sink = new RecordingSink();
+        broadcaster.subscribe(a.id(), sink);
+        KitchenEvent d = broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", 4));
+
+        assertThat(sink.next()).isEqualTo(b);
+        assertThat(sink.next()).isEqualTo(c);
+        assertThat(sink.next()).isEqualTo(d);
+    }
+
+    @Test
+    void subscribe_lastEventIdNoLongerKept_startsWithResync() throws InterruptedException {
+        KitchenEvent first = broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", 0));
+        for (int i = 1; i <= 12; i++){
+            broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", i));
+        }
+
+        RecordingSink sink = new RecordingSink();
+        broadcaster.subscribe(first.id(), sink);
+
+        assertThat(sink.next().type()).isEqualTo(KitchenEvent.Type.RESYNC);
+    }
+
+    @Test
+    void publish_subscriberBufferFull_disconnectsOnlyThatSubscriber() throws InterruptedException {
+        RecordingSink slow = new RecordingSink();
+        slow.blockSends();
+        RecordingSink fast = new RecordingSink();
+        broadcaster.subscribe(null, slow);
+        broadcaster.subscribe(null, fast);
+
+        for (int i = 0; i < 10; i++){
+            KitchenEvent event = broadcaster.publish(KitchenEvent.Type.ORDER_CREATED, Map.of("orderId", i));
+            assertThat(fast.next()).isEqualTo(event);
+        }
+
+        assertThat(slow.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+    }
+
+    private static class RecordingSink implements KitchenEventSink {
+
+        private final BlockingQueue<KitchenEvent> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private final CountDownLatch unblock = new CountDownLatch(1);
+        private volatile boolean blocking;
+
+        void blockSends(){
+            blocking = true;
+        }
+
+        KitchenEvent next() throws InterruptedException {
+            return received.poll(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void send(KitchenEvent event) {
+            if (blocking){
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            received.add(event);
+        }
+
+        @Override
+        public void heartbeat() { }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
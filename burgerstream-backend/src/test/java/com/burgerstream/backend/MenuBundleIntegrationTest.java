@@ -0,0 +1,63 @@
+package com.burgerstream.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MenuBundleIntegrationTest {
+
+    private static final String BUNDLE = "/api/v1/BurgerStream/menu/bundle";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getBundle_acceptingGzip_returnsCompressedMenu() throws Exception {
+        byte[] body = mockMvc.perform(get(BUNDLE).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(json).contains("\"menuItems\"").contains("\"sizeOptions\"");
+        }
+    }
+
+    @Test
+    void getBundle_withoutAcceptEncoding_returnsPlainJson() throws Exception {
+        String json = mockMvc.perform(get(BUNDLE))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(json).startsWith("{\"version\"").contains("\"menuItems\"");
+    }
+
+    @Test
+    void getBundle_gzipAndPlain_haveDifferentETagsAndRevalidate() throws Exception {
+        String gzipETag = mockMvc.perform(get(BUNDLE).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String plainETag = mockMvc.perform(get(BUNDLE))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(gzipETag).isNotEqualTo(plainETag);
+        mockMvc.perform(get(BUNDLE).header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipETag))
+                .andExpect(status().isNotModified());
+    }
+}
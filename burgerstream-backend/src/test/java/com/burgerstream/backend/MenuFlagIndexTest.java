@@ -0,0 +1,82 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.service.menu.MenuFlag;
+import com.burgerstream.backend.service.menu.MenuFlagIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MenuFlagIndexTest {
+
+    private Burger veganBurger;
+    private Burger chickenBurger;
+    private Drink lactoseFreeSoda;
+    private Drink milkshake;
+    private Side fries;
+
+    private MenuFlagIndex<MenuItem> index;
+
+    @BeforeEach
+    void setUp(){
+        veganBurger = new Burger();
+        veganBurger.setName("Vegan Burger");
+        veganBurger.setBasePrice(BigDecimal.valueOf(70.00));
+        veganBurger.setVegan(true);
+
+        chickenBurger = new Burger();
+        chickenBurger.setName("Chicken Burger");
+        chickenBurger.setBasePrice(BigDecimal.valueOf(65.00));
+        chickenBurger.setChicken(true);
+
+        lactoseFreeSoda = new Drink();
+        lactoseFreeSoda.setName("Soda Pop");
+        lactoseFreeSoda.setBasePrice(BigDecimal.valueOf(20.00));
+        lactoseFreeSoda.setCarbonated(true);
+        lactoseFreeSoda.setLactoseFree(true);
+
+        milkshake = new Drink();
+        milkshake.setName("Milkshake");
+        milkshake.setBasePrice(BigDecimal.valueOf(35.00));
+
+        fries = new Side();
+        fries.setName("Fries");
+        fries.setBasePrice(BigDecimal.valueOf(25.00));
+        fries.setShareable(true);
+
+        index = new MenuFlagIndex<>(List.of(veganBurger, chickenBurger, lactoseFreeSoda, milkshake, fries));
+    }
+
+    @Test
+    void filter_noFlags_returnsAllItemsInOrder(){
+        assertThat(index.filter(Set.of(), Set.of()))
+                .containsExactly(veganBurger, chickenBurger, lactoseFreeSoda, milkshake, fries);
+    }
+
+    @Test
+    void filter_allOf_returnsItemsWithEveryFlag(){
+        assertThat(index.filter(Set.of(MenuFlag.LACTOSE_FREE))).containsExactly(veganBurger, lactoseFreeSoda);
+        assertThat(index.filter(Set.of(MenuFlag.LACTOSE_FREE, MenuFlag.CARBONATED))).containsExactly(lactoseFreeSoda);
+        assertThat(index.filter(Set.of(MenuFlag.VEGAN, MenuFlag.CHICKEN))).isEmpty();
+    }
+
+    @Test
+    void filter_anyOf_returnsItemsWithAtLeastOneFlag(){
+        assertThat(index.filter(Set.of(), Set.of(MenuFlag.CHICKEN, MenuFlag.SHAREABLE)))
+                .containsExactly(chickenBurger, fries);
+    }
+
+    @Test
+    void filter_allOfAndAnyOf_combinesBoth(){
+        assertThat(index.filter(Set.of(MenuFlag.LACTOSE_FREE), Set.of(MenuFlag.VEGAN, MenuFlag.SHAREABLE)))
+                .containsExactly(veganBurger);
+    }
+}
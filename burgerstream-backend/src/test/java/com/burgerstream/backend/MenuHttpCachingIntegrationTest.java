@@ -0,0 +1,59 @@
+package com.burgerstream.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MenuHttpCachingIntegrationTest {
+
+    private static final String BURGERS = "/api/v1/BurgerStream/menu/burgers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getBurgers_sendsETagAndCacheControl() throws Exception {
+        mockMvc.perform(get(BURGERS))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, must-revalidate, public"));
+    }
+
+    @Test
+    void getBurgers_withMatchingIfNoneMatch_returnsNotModifiedWithoutBody() throws Exception {
+        String eTag = mockMvc.perform(get(BURGERS)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(BURGERS).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getBurgers_afterMenuChange_returnsNewETag() throws Exception {
+        String eTag = mockMvc.perform(get(BURGERS)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post(BURGERS)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Caching Burger\", \"basePrice\": 50}"))
+                .andExpect(status().isOk());
+
+        String newETag = mockMvc.perform(get(BURGERS).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+    }
+}
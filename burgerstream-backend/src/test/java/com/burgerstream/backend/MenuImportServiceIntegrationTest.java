@@ -0,0 +1,132 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.component.MenuItemValidator;
+import com.burgerstream.backend.component.OptimisticLockRetry;
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.repository.menu.BurgerRepository;
+import com.burgerstream.backend.repository.menu.DrinkRepository;
+import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.burgerstream.backend.service.menu.MenuImportResult;
+import com.burgerstream.backend.service.menu.MenuImportService;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.menu.SizeOptionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({MenuImportService.class, MenuItemValidator.class, MenuSnapshotCache.class, SizeOptionService.class, OptimisticLockRetry.class})
+public class MenuImportServiceIntegrationTest {
+
+    private static final String MENU_JSON = """
+            [
+              {"type": "SIZE", "label": "Cola", "sizeLabel": "Small", "extraPrice": 0},
+              {"type": "SIZE", "label": "Cola", "sizeLabel": "Large", "extraPrice": 8},
+              {"type": "BURGER", "name": "Cheeseburger", "basePrice": 55, "lactoseFree": false},
+              {"type": "DRINK", "name": "Cola", "basePrice": 20, "carbonated": true, "sizes": ["Cola/Small", "Cola/Large"]}
+            ]""";
+
+    @Autowired
+    private MenuImportService menuImportService;
+
+    @Autowired
+    private BurgerRepository burgerRepository;
+
+    @Autowired
+    private DrinkRepository drinkRepository;
+
+    @Autowired
+    private SizeOptionRepository sizeOptionRepository;
+
+    @Test
+    void importJson_createsSizesAndMenuItems() throws IOException {
+        MenuImportResult result = menuImportService.importJson(stream(MENU_JSON));
+
+        assertThat(result.sizeOptionsCreated()).isEqualTo(2);
+        assertThat(result.itemsCreated()).isEqualTo(2);
+        assertThat(result.rowsRejected()).isZero();
+
+        Drink cola = drinkRepository.findAll().getFirst();
+        assertThat(cola.getCarbonated()).isTrue();
+        assertThat(cola.getSizeOptions()).extracting(SizeOption::getSizeLabel).containsExactlyInAnyOrder("Small", "Large");
+    }
+
+    @Test
+    void importJson_sameDocumentTwice_updatesInsteadOfDuplicating() throws IOException {
+        menuImportService.importJson(stream(MENU_JSON));
+
+        MenuImportResult result = menuImportService.importJson(stream(MENU_JSON.replace("\"basePrice\": 55", "\"basePrice\": 60")));
+
+        assertThat(result.itemsCreated()).isZero();
+        assertThat(result.itemsUpdated()).isEqualTo(2);
+        assertThat(result.sizeOptionsUpdated()).isEqualTo(2);
+        assertThat(sizeOptionRepository.count()).isEqualTo(2);
+        assertThat(burgerRepository.findAll()).singleElement()
+                .extracting(Burger::getBasePrice)
+                .satisfies(price -> assertThat(price).isEqualByComparingTo("60"));
+    }
+
+    @Test
+    void importCsv_readsHeaderAndPipeSeparatedSizes() throws IOException {
+        String csv = """
+                type,name,basePrice,carbonated,label,sizeLabel,extraPrice,sizes
+                SIZE,,,,Lemonade,Small,0,
+                SIZE,,,,Lemonade,Large,6,
+                DRINK,Lemonade,18,false,,,,Lemonade/Small|Lemonade/Large
+                """;
+
+        MenuImportResult result = menuImportService.importCsv(stream(csv));
+
+        assertThat(result.rowsRejected()).isZero();
+        assertThat(drinkRepository.findAll()).singleElement()
+                .satisfies(drink -> assertThat(drink.getSizeOptions()).hasSize(2));
+    }
+
+    @Test
+    void importJson_invalidRows_areReportedAndTheRestIsImported() throws IOException {
+        String json = """
+                [
+                  {"type": "BURGER", "name": "Cheeseburger", "basePrice": 55},
+                  {"type": "BURGER", "name": "No Price"},
+                  {"type": "SIZE", "label": "Fries", "sizeLabel": "Large"},
+                  {"type": "DRINK", "name": "Cola", "basePrice": 20, "sizes": "Cola/Huge"}
+                ]""";
+
+        MenuImportResult result = menuImportService.importJson(stream(json));
+
+        assertThat(result.itemsCreated()).isEqualTo(1);
+        assertThat(result.rowsRejected()).isEqualTo(3);
+        assertThat(result.errors()).extracting(MenuImportResult.RowError::row).containsExactly(2L, 3L, 4L);
+        assertThat(burgerRepository.findAll()).extracting(Burger::getName).containsExactly("Cheeseburger");
+    }
+
+    @Test
+    void exportJson_canBeImportedAgainWithoutChanges() throws IOException {
+        menuImportService.importJson(stream(MENU_JSON));
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        menuImportService.exportJson(exported);
+        MenuImportResult result = menuImportService.importJson(new ByteArrayInputStream(exported.toByteArray()));
+
+        assertThat(result.itemsCreated()).isZero();
+        assertThat(result.sizeOptionsCreated()).isZero();
+        assertThat(result.itemsUpdated()).isEqualTo(2);
+        assertThat(result.sizeOptionsUpdated()).isEqualTo(2);
+        assertThat(result.rowsRejected()).isZero();
+    }
+
+    private static InputStream stream(String content){
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,130 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.repository.menu.BurgerRepository;
+import com.burgerstream.backend.repository.menu.DrinkRepository;
+import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.burgerstream.backend.service.menu.MenuSnapshot;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(MenuSnapshotCache.class)
+public class MenuSnapshotCacheIntegrationTest {
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private BurgerRepository burgerRepository;
+
+    @Autowired
+    private DrinkRepository drinkRepository;
+
+    @Autowired
+    private SizeOptionRepository sizeOptionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void current_withoutMenuChanges_reusesSnapshot(){
+        MenuSnapshot first = menuSnapshotCache.current();
+        MenuSnapshot second = menuSnapshotCache.current();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void current_afterMenuItemSaved_containsNewItem(){
+        long versionBefore = menuSnapshotCache.currentVersion();
+
+        Burger burger = new Burger();
+        burger.setName("Hamburger");
+        burger.setBasePrice(BigDecimal.valueOf(55.00));
+        burger = burgerRepository.save(burger);
+
+        MenuSnapshot snapshot = menuSnapshotCache.current();
+
+        assertThat(menuSnapshotCache.currentVersion()).isGreaterThan(versionBefore);
+        assertThat(snapshot.getBurgers()).containsExactly(burger);
+        assertThat(snapshot.getMenuItems()).containsExactly(burger);
+        assertThat(snapshot.findBurger(burger.getId())).contains(burger);
+        assertThat(snapshot.findDrink(burger.getId())).isEmpty();
+    }
+
+    @Test
+    void current_drinkWithSizes_sizesAreLoaded(){
+        SizeOption small = new SizeOption();
+        small.setLabel("Soda");
+        small.setSizeLabel("Small");
+        small.setExtraPrice(BigDecimal.valueOf(0.00));
+        small = sizeOptionRepository.save(small);
+
+        Drink drink = new Drink();
+        drink.setName("Soda Pop");
+        drink.setBasePrice(BigDecimal.valueOf(15.00));
+        drink.setSizeOptions(Set.of(small));
+        drink = drinkRepository.save(drink);
+
+        MenuSnapshot snapshot = menuSnapshotCache.current();
+
+        assertThat(snapshot.findDrink(drink.getId())).isPresent();
+        assertThat(snapshot.findDrink(drink.getId()).get().getSizeOptions()).containsExactly(small);
+        assertThat(snapshot.findSizeOption(small.getId())).contains(small);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void current_staleInsideATransaction_isLoadedForThatTransactionOnly(){
+        Burger burger = new Burger();
+        burger.setName("Hamburger");
+        burger.setBasePrice(BigDecimal.valueOf(55.00));
+        burgerRepository.save(burger);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            MenuSnapshot joined = transaction.execute(status -> {
+                MenuSnapshot snapshot = menuSnapshotCache.current();
+                assertThat(entityManager.contains(snapshot.getBurgers().getFirst())).isTrue();
+                return snapshot;
+            });
+
+            MenuSnapshot published = menuSnapshotCache.current();
+
+            assertThat(published).isNotSameAs(joined);
+            assertThat(published.getBurgers()).extracting(Burger::getId).containsExactly(burger.getId());
+            Boolean managed = transaction.execute(status -> entityManager.contains(published.getBurgers().getFirst()));
+            assertThat(managed).isFalse();
+        } finally {
+            burgerRepository.delete(burger);
+        }
+    }
+
+    @Test
+    void invalidate_bumpsVersion(){
+        long versionBefore = menuSnapshotCache.currentVersion();
+
+        menuSnapshotCache.invalidate();
+
+        assertThat(menuSnapshotCache.currentVersion()).isGreaterThan(versionBefore);
+    }
+}
@@ -0,0 +1,91 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.repository.menu.BurgerRepository;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A single pooled connection that every read-only transaction below holds while the snapshot is rebuilt, so a
+// reload that borrows from the same pool waits out the connection timeout and fails.
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+public class MenuSnapshotCachePoolIntegrationTest {
+
+    private static final int THREADS = 4;
+    private static final int RELOADS_PER_THREAD = 5;
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private BurgerRepository burgerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Burger burger;
+
+    @BeforeEach
+    void setUp(){
+        burger = new Burger();
+        burger.setName("Pool Burger");
+        burger.setBasePrice(BigDecimal.valueOf(50.00));
+        burgerRepository.save(burger);
+    }
+
+    @AfterEach
+    void tearDown(){
+        burgerRepository.delete(burger);
+    }
+
+    @Test
+    void current_staleSnapshotInReadOnlyTransactions_reloadsWithoutASecondPooledConnection() throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++){
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> menuItemIds = new ArrayList<>();
+                    for (int i = 0; i < RELOADS_PER_THREAD; i++){
+                        menuSnapshotCache.invalidate();
+                        menuItemIds.addAll(readOnly.execute(status -> menuSnapshotCache.current().getBurgers().stream()
+                                .map(MenuItem::getId)
+                                .toList()));
+                    }
+                    return menuItemIds;
+                }));
+            }
+            start.countDown();
+            for (Future<List<Long>> result : results){
+                assertThat(result.get(30, TimeUnit.SECONDS)).contains(burger.getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
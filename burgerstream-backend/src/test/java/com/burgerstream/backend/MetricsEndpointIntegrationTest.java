@@ -0,0 +1,38 @@
+package com.burgerstream.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_afterRequest_exposesEndpointRepositoryHibernatePoolAndStartupMetrics() throws Exception {
+        mockMvc.perform(get("/api/v1/BurgerStream/menu/burgers")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_count")
+                .contains("uri=\"/api/v1/BurgerStream/menu/burgers\"")
+                .contains("spring_data_repository_invocations_seconds_count")
+                .contains("hibernate_statements_total")
+                .contains("hikaricp_connections_pending")
+                .contains("application_ready_time_seconds");
+    }
+}
@@ -0,0 +1,70 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.component.OptimisticLockRetry;
+import com.burgerstream.backend.exception.MenuUpdateConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OptimisticLockRetryTest {
+
+    private final OptimisticLockRetry retry = new OptimisticLockRetry(new NoOpTransactionManager(), 3);
+
+    @Test
+    void run_conflictThenSuccess_retriesUntilItSucceeds(){
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.run("Burger with id: 1", () -> {
+            if (attempts.incrementAndGet() < 3) throw new OptimisticLockingFailureException("Row was updated by another transaction");
+            return "updated";
+        });
+
+        assertThat(result).isEqualTo("updated");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void run_conflictOnEveryAttempt_throwsMenuUpdateConflictException(){
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.run("Burger with id: 1", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("Row was updated by another transaction");
+        })).isInstanceOf(MenuUpdateConflictException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void checkVersion_differentVersion_throwsMenuUpdateConflictException(){
+        OptimisticLockRetry.checkVersion("Burger with id: 1", null, 4L);
+        OptimisticLockRetry.checkVersion("Burger with id: 1", 4L, 4L);
+
+        assertThatThrownBy(() -> OptimisticLockRetry.checkVersion("Burger with id: 1", 3L, 4L))
+                .isInstanceOf(MenuUpdateConflictException.class)
+                .hasMessageContaining("version 3");
+    }
+
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) { }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) { }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) { }
+    }
+}
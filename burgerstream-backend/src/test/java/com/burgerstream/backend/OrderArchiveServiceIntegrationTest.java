@@ -0,0 +1,144 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.exception.ResourceNotFoundException;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.model.order.OrderStatus;
+import com.burgerstream.backend.repository.menu.SideRepository;
+import com.burgerstream.backend.repository.order.ArchivedOrderRepository;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.PricingEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {"burgerstream.orders.archive.batch-size=2", "burgerstream.orders.archive.directory=target/test-order-archive"})
+@Import({OrderArchiveService.class, OrderService.class, PricingEngine.class, MenuSnapshotCache.class, KitchenEventBroadcaster.class, ActiveOrderBoard.class, SalesRollupService.class})
+public class OrderArchiveServiceIntegrationTest {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private SideRepository sideRepository;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Side fries;
+
+    @BeforeEach
+    void setUp(){
+        fries = new Side();
+        fries.setName("Fries");
+        fries.setBasePrice(BigDecimal.valueOf(25.00));
+        sideRepository.save(fries);
+    }
+
+    @Test
+    void archiveOrdersBefore_movesOnlyOldCollectedOrdersOutOfTheTable(){
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(200);
+        Order first = saveOrder("John Doe", longAgo, OrderStatus.COLLECTED);
+        Order second = saveOrder("Jane Doe", longAgo.plusDays(40), OrderStatus.COLLECTED);
+        Order third = saveOrder("James Gunn", longAgo.plusDays(41), OrderStatus.COLLECTED);
+        Order stillOpen = saveOrder("Open Order", longAgo, OrderStatus.READY);
+        Order recent = saveOrder("Recent Order", LocalDateTime.now(), OrderStatus.COLLECTED);
+
+        int archived = orderArchiveService.archiveOrdersBefore(LocalDateTime.now().minusDays(90));
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(archivedOrderRepository.findAllById(List.of(first.getId(), second.getId(), third.getId()))).hasSize(3);
+        assertThat(orderRepository.findAll()).extracting(Order::getId).containsExactlyInAnyOrder(stillOpen.getId(), recent.getId());
+    }
+
+    @Test
+    void getOrder_archivedOrder_isReadBackFromTheArchive(){
+        Order order = saveOrder("John Doe", LocalDateTime.now().minusDays(200), OrderStatus.COLLECTED);
+
+        orderArchiveService.archiveOrdersBefore(LocalDateTime.now().minusDays(90));
+
+        Order archived = orderService.getOrder(order.getId());
+        assertThat(archived.getCustomerName()).isEqualTo("John Doe");
+        assertThat(archived.getStatus()).isEqualTo(OrderStatus.COLLECTED);
+        assertThat(archived.getOrderEndPrice()).isEqualByComparingTo("50.00");
+        assertThat(archived.getOrderItems()).singleElement().satisfies(item -> {
+            assertThat(item.getMenuItem().getName()).isEqualTo("Fries");
+            assertThat(item.getAmount()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void rebuildRollups_afterArchiving_keepsTheTotalsOfTheArchivedOrders(){
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(200);
+        saveOrder("John Doe", longAgo, OrderStatus.COLLECTED);
+        saveOrder("Jane Doe", longAgo.plusDays(40), OrderStatus.COLLECTED);
+        saveOrder("Open Order", longAgo.plusDays(40), OrderStatus.READY);
+        saveOrder("Recent Order", LocalDateTime.now().minusDays(2), OrderStatus.COLLECTED);
+        salesRollupService.rebuildBefore(LocalDateTime.now());
+        List<Map<String, Object>> orderRollups = rollups("order_rollups");
+        List<Map<String, Object>> itemRollups = rollups("item_rollups");
+
+        orderArchiveService.archiveOrdersBefore(LocalDateTime.now().minusDays(90));
+        salesRollupService.rebuildBefore(LocalDateTime.now());
+
+        assertThat(jdbcTemplate.queryForObject("select sum(order_count) from order_rollups where granularity = 'HOUR'", Long.class))
+                .isEqualTo(4L);
+        assertThat(rollups("order_rollups")).isEqualTo(orderRollups);
+        assertThat(rollups("item_rollups")).isEqualTo(itemRollups);
+    }
+
+    @Test
+    void getOrder_neitherInTableNorArchive_throwsResourceNotFoundException(){
+        assertThatThrownBy( () -> orderService.getOrder(999999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private List<Map<String, Object>> rollups(String table){
+        return jdbcTemplate.queryForList("select * from " + table + " order by granularity, bucket_start");
+    }
+
+    private Order saveOrder(String customerName, LocalDateTime date, OrderStatus status){
+        OrderItem item = new OrderItem();
+        item.setMenuItem(fries);
+        item.setAmount(2);
+        item.setItemEndPrice(BigDecimal.valueOf(50.00));
+
+        Order order = new Order();
+        order.setCustomerName(customerName);
+        order.setCustomerEmail("customer@example.com");
+        order.setDate(date);
+        order.setStatus(status);
+        order.addOrderItem(item);
+        return orderRepository.save(order);
+    }
+}
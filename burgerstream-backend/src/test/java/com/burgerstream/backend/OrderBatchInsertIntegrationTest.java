@@ -0,0 +1,103 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.menu.SideRepository;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.PricingEngine;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({OrderService.class, PricingEngine.class, MenuSnapshotCache.class, KitchenEventBroadcaster.class, ActiveOrderBoard.class, SalesRollupService.class, OrderArchiveService.class})
+public class OrderBatchInsertIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SideRepository sideRepository;
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Side fries;
+
+    @BeforeEach
+    void setUp(){
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    // Removed again once the test transaction has rolled back the order that refers to it.
+    @AfterTransaction
+    void removeFries(){
+        if (fries != null) sideRepository.deleteById(fries.getId());
+    }
+
+    @Test
+    void createOrder_withTenItems_insertsInBatches(){
+        // Committed on its own and the snapshot warmed up outside the test transaction, where it is published, so only
+        // the order's own statements are counted.
+        TransactionTemplate committed = new TransactionTemplate(transactionManager);
+        committed.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        fries = committed.execute(status -> {
+            Side side = new Side();
+            side.setName("Fries");
+            side.setBasePrice(BigDecimal.valueOf(25.00));
+            return sideRepository.save(side);
+        });
+        TransactionTemplate outside = new TransactionTemplate(transactionManager);
+        outside.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        outside.execute(status -> menuSnapshotCache.current());
+
+        Order order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        for (int i = 0; i < 10; i++){
+            OrderItem item = new OrderItem();
+            item.setMenuItem(fries);
+            item.setAmount(1);
+            item.setItemEndPrice(BigDecimal.valueOf(25.00));
+            order.addOrderItem(item);
+        }
+
+        statistics.clear();
+        orderService.createOrder(order);
+        entityManager.flush();
+
+        // 11 rows: one batched insert per table plus at most two sequence calls per table.
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(11);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+        // Pricing and the kitchen event both read the warmed menu snapshot instead of querying the menu.
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+    }
+}
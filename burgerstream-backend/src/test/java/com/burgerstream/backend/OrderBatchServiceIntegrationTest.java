@@ -0,0 +1,111 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.exception.InvalidOrderException;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.menu.SideRepository;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import com.burgerstream.backend.service.order.OrderBatchResult;
+import com.burgerstream.backend.service.order.OrderBatchService;
+import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.PricingEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {"burgerstream.orders.batch.chunk-size=2", "burgerstream.orders.batch.max-orders=10"})
+@Import({OrderBatchService.class, OrderService.class, PricingEngine.class, MenuSnapshotCache.class, KitchenEventBroadcaster.class, ActiveOrderBoard.class, SalesRollupService.class, OrderArchiveService.class})
+public class OrderBatchServiceIntegrationTest {
+
+    @Autowired
+    private OrderBatchService orderBatchService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SideRepository sideRepository;
+
+    private Side fries;
+
+    @BeforeEach
+    void setUp(){
+        fries = new Side();
+        fries.setName("Fries");
+        fries.setBasePrice(BigDecimal.valueOf(25.00));
+        sideRepository.save(fries);
+    }
+
+    @Test
+    void createOrders_acrossSeveralChunks_createsEveryOrderWithItsId(){
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++){
+            orders.add(orderFor("Customer " + i, 1));
+        }
+
+        OrderBatchResult result = orderBatchService.createOrders(orders);
+
+        assertThat(result.created()).isEqualTo(5);
+        assertThat(result.rejected()).isZero();
+        assertThat(result.results()).extracting(OrderBatchResult.Entry::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.results()).extracting(OrderBatchResult.Entry::orderId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(orderRepository.count()).isEqualTo(5);
+        assertThat(orderRepository.findWithItemsById(result.results().getFirst().orderId()))
+                .hasValueSatisfying(order -> assertThat(order.getOrderEndPrice()).isEqualByComparingTo("25.00"));
+    }
+
+    @Test
+    void createOrders_withInvalidOrders_rejectsOnlyThose(){
+        Order empty = new Order();
+        empty.setCustomerName("Jane Doe");
+        empty.setCustomerEmail("Jane@Doe.com");
+
+        OrderBatchResult result = orderBatchService.createOrders(List.of(orderFor("John Doe", 1), empty, orderFor("James Gunn", 0)));
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.results()).extracting(OrderBatchResult.Entry::status).containsExactly(
+                OrderBatchResult.Status.CREATED, OrderBatchResult.Status.REJECTED, OrderBatchResult.Status.REJECTED);
+        assertThat(result.results().get(1).error()).contains("no items");
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createOrders_moreThanMaxOrders_throwsInvalidOrderException(){
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 11; i++){
+            orders.add(orderFor("Customer " + i, 1));
+        }
+
+        assertThatThrownBy( () -> orderBatchService.createOrders(orders))
+                .isInstanceOf(InvalidOrderException.class);
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    private Order orderFor(String customerName, int amount){
+        OrderItem item = new OrderItem();
+        item.setMenuItem(fries);
+        item.setAmount(amount);
+
+        Order order = new Order();
+        order.setCustomerName(customerName);
+        order.setCustomerEmail("customer@example.com");
+        order.addOrderItem(item);
+        return order;
+    }
+}
@@ -0,0 +1,163 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import com.burgerstream.backend.service.order.OrderItemView;
+import com.burgerstream.backend.service.order.OrderPage;
+import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.OrderView;
+import com.burgerstream.backend.service.order.PricingEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({OrderService.class, PricingEngine.class, MenuSnapshotCache.class, KitchenEventBroadcaster.class, ActiveOrderBoard.class, SalesRollupService.class, OrderArchiveService.class})
+public class OrderFetchPlanIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Statistics statistics;
+    private Burger burger;
+    private Drink cola;
+    private Side fries;
+    private SizeOption large;
+
+    @BeforeEach
+    void setUp(){
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        large = new SizeOption();
+        large.setLabel("Large");
+        large.setSizeLabel("L");
+        large.setExtraPrice(BigDecimal.valueOf(10.00));
+        entityManager.persist(large);
+
+        burger = new Burger();
+        burger.setName("Classic Burger");
+        burger.setBasePrice(BigDecimal.valueOf(75.00));
+        entityManager.persist(burger);
+
+        cola = new Drink();
+        cola.setName("Cola");
+        cola.setBasePrice(BigDecimal.valueOf(20.00));
+        cola.setSizeOptions(new HashSet<>(Set.of(large)));
+        entityManager.persist(cola);
+
+        fries = new Side();
+        fries.setName("Fries");
+        fries.setBasePrice(BigDecimal.valueOf(25.00));
+        fries.setSizeOptions(new HashSet<>(Set.of(large)));
+        entityManager.persist(fries);
+    }
+
+    @Test
+    void getOrder_serializingItems_usesConstantNumberOfStatements() throws JsonProcessingException {
+        Order order = persistOrder(LocalDateTime.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        objectMapper.writeValueAsString(orderService.getOrder(order.getId()));
+
+        // The order with its items, menu items and sizes, then one batch each for the drink and side sizes.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getOrderView_readsOrderAndItemsWithTwoStatementsAndNoEntities() throws JsonProcessingException {
+        Order order = persistOrder(LocalDateTime.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        OrderView view = orderService.getOrderView(order.getId());
+        objectMapper.writeValueAsString(view);
+
+        assertThat(view.orderItems()).extracting(OrderItemView::menuItemName).containsExactly("Classic Burger", "Cola", "Fries");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getOrderPage_statementCount_doesNotGrowWithOrders() throws JsonProcessingException {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 2; i++){
+            persistOrder(now.minusMinutes(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        objectMapper.writeValueAsString(orderService.getOrderPage(null, 50));
+        long statementsForTwoOrders = statistics.getPrepareStatementCount();
+
+        for (int i = 2; i < 20; i++){
+            persistOrder(now.minusMinutes(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        OrderPage page = orderService.getOrderPage(null, 50);
+        objectMapper.writeValueAsString(page);
+
+        assertThat(page.orders()).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsForTwoOrders);
+        // The page of orders and one statement for the items of all of them.
+        assertThat(statementsForTwoOrders).isEqualTo(2);
+    }
+
+    private Order persistOrder(LocalDateTime date){
+        Order order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        order.setDate(date);
+        order.setOrderEndPrice(BigDecimal.valueOf(150.00));
+        order.addOrderItem(item(burger, null, BigDecimal.valueOf(75.00)));
+        order.addOrderItem(item(cola, large, BigDecimal.valueOf(30.00)));
+        order.addOrderItem(item(fries, large, BigDecimal.valueOf(35.00)));
+        return entityManager.persist(order);
+    }
+
+    private OrderItem item(MenuItem menuItem, SizeOption sizeOption, BigDecimal price){
+        OrderItem item = new OrderItem();
+        item.setMenuItem(menuItem);
+        item.setSizeOption(sizeOption);
+        item.setAmount(1);
+        item.setItemEndPrice(price);
+        return item;
+    }
+}
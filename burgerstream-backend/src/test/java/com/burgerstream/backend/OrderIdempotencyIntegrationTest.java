@@ -0,0 +1,150 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.exception.IdempotencyKeyInProgressException;
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.menu.SideRepository;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.order.OrderIdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderIdempotencyIntegrationTest {
+
+    private static final String ORDERS = "/api/v1/BurgerStream/orders";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SideRepository sideRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderIdempotencyStore orderIdempotencyStore;
+
+    private Side fries;
+
+    @BeforeEach
+    void setUp(){
+        fries = new Side();
+        fries.setName("Idempotency Fries");
+        fries.setBasePrice(BigDecimal.valueOf(25.00));
+        sideRepository.save(fries);
+    }
+
+    @Test
+    void createOrder_retriedWithSameKey_returnsFirstResponseWithoutSecondOrder() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long ordersBefore = orderRepository.count();
+
+        String first = mockMvc.perform(post(ORDERS).header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(order(2)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+
+        String retry = mockMvc.perform(post(ORDERS).header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(order(2)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+    }
+
+    @Test
+    void createOrder_sameKeyForDifferentOrder_isRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post(ORDERS).header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(order(1)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post(ORDERS).header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(order(3)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void executeOutsideTransaction_runsTheActionOutsideATransactionAndReplaysRetries(){
+        String key = UUID.randomUUID().toString();
+        AtomicInteger runs = new AtomicInteger();
+
+        OrderIdempotencyStore.Response first = orderIdempotencyStore.executeOutsideTransaction(key, orderEntity(1), 202, () -> {
+            runs.incrementAndGet();
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        });
+        OrderIdempotencyStore.Response retry = orderIdempotencyStore.executeOutsideTransaction(key, orderEntity(1), 202, () -> {
+            runs.incrementAndGet();
+            return true;
+        });
+
+        assertThat(first.body()).isEqualTo("false");
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.body()).isEqualTo("false");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void executeOutsideTransaction_sameKeyWhileTheFirstIsRunning_isToldToRetry(){
+        String key = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> orderIdempotencyStore.executeOutsideTransaction(key, orderEntity(1), 202,
+                () -> orderIdempotencyStore.executeOutsideTransaction(key, orderEntity(1), 202, () -> "second")))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+    }
+
+    @Test
+    void executeOutsideTransaction_failedAction_releasesTheKey(){
+        String key = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> orderIdempotencyStore.executeOutsideTransaction(key, orderEntity(1), 202, () -> {
+            throw new IllegalStateException("Write-ahead log unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        OrderIdempotencyStore.Response retry = orderIdempotencyStore.executeOutsideTransaction(key, orderEntity(1), 202, () -> "queued");
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.body()).isEqualTo("\"queued\"");
+    }
+
+    private Order orderEntity(int amount){
+        OrderItem item = new OrderItem();
+        item.setMenuItemId(fries.getId());
+        item.setAmount(amount);
+
+        Order order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        order.addOrderItem(item);
+        return order;
+    }
+
+    private String order(int amount){
+        return """
+                {"customerName": "John Doe", "customerEmail": "John@Doe.com",
+                 "orderItems": [{"menuItemId": %d, "amount": %d}]}""".formatted(fries.getId(), amount);
+    }
+}
@@ -0,0 +1,132 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.menu.Side;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.menu.SideRepository;
+import com.burgerstream.backend.service.order.OrderIdempotencyStore;
+import com.burgerstream.backend.service.order.OrderIngestService;
+import com.burgerstream.backend.service.order.OrderReceipt;
+import com.burgerstream.backend.service.order.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// The writer thread saves through the spied OrderService, which is made to fail the way a database outage or a
+// broken order would.
+@SpringBootTest
+public class OrderIngestServiceIntegrationTest {
+
+    @Autowired
+    private OrderIngestService orderIngestService;
+
+    @Autowired
+    private SideRepository sideRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private OrderService orderService;
+
+    private Side fries;
+
+    @DynamicPropertySource
+    static void ingestProperties(DynamicPropertyRegistry registry) throws IOException {
+        String walPath = Files.createTempDirectory("order-ingest").resolve("orders.wal").toString();
+        registry.add("burgerstream.orders.ingest.enabled", () -> "true");
+        registry.add("burgerstream.orders.ingest.wal-path", () -> walPath);
+    }
+
+    @BeforeEach
+    void setUp(){
+        fries = new Side();
+        fries.setName("Ingest Fries");
+        fries.setBasePrice(BigDecimal.valueOf(25.00));
+        sideRepository.save(fries);
+    }
+
+    @Test
+    void submit_databaseUnavailableWhileCommittingOneByOne_retriesAndCommits() throws Exception {
+        doThrow(new IllegalStateException("Group failed"))
+                .doThrow(new TransientDataAccessResourceException("Database restarting"))
+                .doCallRealMethod()
+                .when(orderService).saveNewOrders(anyList());
+
+        OrderReceipt receipt = orderIngestService.submit(order());
+
+        OrderReceipt committed = awaitReceipt(receipt.reference(), OrderReceipt.Status.COMMITTED);
+        assertThat(committed.status()).isEqualTo(OrderReceipt.Status.COMMITTED);
+        assertThat(committed.orderId()).isNotNull();
+    }
+
+    @Test
+    void submitWithIdempotencyKey_retried_queuesTheOrderOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        OrderIdempotencyStore.Response first = orderIngestService.submit(order(), key, 202);
+        OrderIdempotencyStore.Response retry = orderIngestService.submit(order(), key, 202);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.body()).isEqualTo(first.body());
+        OrderReceipt receipt = objectMapper.readValue(first.body(), OrderReceipt.class);
+        assertThat(awaitReceipt(receipt.reference(), OrderReceipt.Status.COMMITTED).status()).isEqualTo(OrderReceipt.Status.COMMITTED);
+        verify(orderService, times(1)).saveNewOrders(anyList());
+    }
+
+    @Test
+    void submit_orderThatCannotBeSaved_isReportedAsRejected() throws Exception {
+        doThrow(new DataIntegrityViolationException("Menu item is gone"))
+                .when(orderService).saveNewOrders(anyList());
+
+        OrderReceipt receipt = orderIngestService.submit(order());
+
+        assertThat(awaitReceipt(receipt.reference(), OrderReceipt.Status.REJECTED).status())
+                .isEqualTo(OrderReceipt.Status.REJECTED);
+        // Once for the group and once on its own, a reject is not retried.
+        verify(orderService, times(2)).saveNewOrders(anyList());
+    }
+
+    private Order order(){
+        OrderItem item = new OrderItem();
+        item.setMenuItemId(fries.getId());
+        item.setAmount(1);
+
+        Order order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        order.getOrderItems().add(item);
+        return order;
+    }
+
+    private OrderReceipt awaitReceipt(String reference, OrderReceipt.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        OrderReceipt receipt = orderIngestService.getReceipt(reference);
+        while (receipt.status() != status && System.nanoTime() < deadline){
+            Thread.sleep(20);
+            receipt = orderIngestService.getReceipt(reference);
+        }
+        return receipt;
+    }
+}
@@ -0,0 +1,181 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.exception.InvalidOrderSearchException;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import com.burgerstream.backend.service.order.OrderCursor;
+import com.burgerstream.backend.service.order.OrderPage;
+import com.burgerstream.backend.service.order.OrderSearch;
+import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.OrderView;
+import com.burgerstream.backend.service.order.PricingEngine;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.burgerstream.backend.OrderSearchIntegrationTest$CapturedStatements")
+@Import({OrderService.class, PricingEngine.class, MenuSnapshotCache.class, KitchenEventBroadcaster.class, ActiveOrderBoard.class, SalesRollupService.class, OrderArchiveService.class})
+public class OrderSearchIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void setUp(){
+        // A few hundred orders from other customers, so a scan would be noticeably worse than the indexes.
+        for (int i = 0; i < 300; i++){
+            persistOrder("customer" + i + "@example.com", now.minusHours(i), 50 + i);
+        }
+        for (int i = 0; i < 5; i++){
+            persistOrder("john@doe.com", now.minusDays(i), 100 * (i + 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void searchOrders_byCustomerAndMinimumTotal_returnsOnlyTheirMatchingOrdersNewestFirst(){
+        OrderPage page = orderService.searchOrders(new OrderSearch("john@doe.com", null, null, BigDecimal.valueOf(300)), null, 50);
+
+        assertThat(page.orders()).extracting(OrderView::orderEndPrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.valueOf(300), BigDecimal.valueOf(400), BigDecimal.valueOf(500));
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchOrders_followingCursors_returnsEveryOrderInTheRangeOnce(){
+        OrderSearch lastDay = new OrderSearch(null, now.minusHours(23).minusMinutes(30), now.plusSeconds(1), null);
+
+        List<OrderView> allOrders = new ArrayList<>();
+        OrderPage page = orderService.searchOrders(lastDay, null, 10);
+        allOrders.addAll(page.orders());
+        while (page.nextCursor() != null){
+            page = orderService.searchOrders(lastDay, page.nextCursor(), 10);
+            allOrders.addAll(page.orders());
+        }
+
+        // 24 hourly orders from the others and John's order from today.
+        assertThat(allOrders).hasSize(25).extracting(OrderView::id).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void searchOrders_withoutCustomerOrFromDate_throwsInvalidOrderSearchException(){
+        assertThatThrownBy( () -> orderService.searchOrders(new OrderSearch(null, null, now, BigDecimal.TEN), null, 50))
+                .isInstanceOf(InvalidOrderSearchException.class);
+    }
+
+    @Test
+    void queryPlan_customerSearch_usesCustomerEmailDateIndex(){
+        OrderSearch search = new OrderSearch("john@doe.com", null, null, BigDecimal.valueOf(300));
+
+        String plan = explain(generatedSearchSql(search, null), "john@doe.com", BigDecimal.valueOf(300), 50);
+
+        assertThat(plan).containsIgnoringCase("IDX_ORDERS_CUSTOMER_EMAIL_DATE").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void queryPlan_customerSearchAfterCursor_usesCustomerEmailDateIndex(){
+        OrderSearch search = new OrderSearch("john@doe.com", null, null, BigDecimal.valueOf(300));
+        OrderCursor after = new OrderCursor(now.minusDays(2), Long.MAX_VALUE);
+
+        String sql = generatedSearchSql(search, after);
+        String plan = explain(sql, "john@doe.com", BigDecimal.valueOf(300), after.date(), after.date(), after.id(), 50);
+
+        assertThat(sql).containsIgnoringCase(" or ").containsIgnoringCase(".id<?");
+        assertThat(plan).containsIgnoringCase("IDX_ORDERS_CUSTOMER_EMAIL_DATE").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void queryPlan_dateRangeSearch_usesDateIndex(){
+        OrderSearch search = new OrderSearch(null, now.minusDays(1), now, null);
+
+        String plan = explain(generatedSearchSql(search, null), search.from(), search.to(), 50);
+
+        assertThat(plan).containsIgnoringCase("IDX_ORDERS_DATE").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void queryPlan_dateRangeSearchAfterCursor_usesDateIndex(){
+        OrderSearch search = new OrderSearch(null, now.minusDays(1), now, null);
+        OrderCursor after = new OrderCursor(now.minusHours(12), Long.MAX_VALUE);
+
+        String sql = generatedSearchSql(search, after);
+        String plan = explain(sql, search.from(), search.to(), after.date(), after.date(), after.id(), 50);
+
+        assertThat(sql).containsIgnoringCase(" or ").containsIgnoringCase(".id<?");
+        assertThat(plan).containsIgnoringCase("IDX_ORDERS_DATE").doesNotContainIgnoringCase("tableScan");
+    }
+
+    // The SQL Hibernate generated for the search, as captured by the statement inspector of this test's context.
+    private String generatedSearchSql(OrderSearch search, OrderCursor after){
+        CapturedStatements.clear();
+        orderRepository.searchViews(search, after, 50);
+        List<String> statements = CapturedStatements.get();
+        assertThat(statements).hasSize(1);
+        return statements.getFirst();
+    }
+
+    // The parameters are bound in the order they appear in the statement, the row limit last.
+    private String explain(String sql, Object... parameters){
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+    }
+
+    private void persistOrder(String customerEmail, LocalDateTime date, int total){
+        Order order = new Order();
+        order.setCustomerName("Customer");
+        order.setCustomerEmail(customerEmail);
+        order.setDate(date);
+        order.setOrderEndPrice(BigDecimal.valueOf(total));
+        entityManager.persist(order);
+    }
+
+    public static class CapturedStatements implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+
+        static List<String> get(){
+            return List.copyOf(STATEMENTS.get());
+        }
+
+        static void clear(){
+            STATEMENTS.get().clear();
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.burgerstream.backend;
 
+import com.burgerstream.backend.exception.InvalidCursorException;
 import com.burgerstream.backend.exception.InvalidOrderException;
+import com.burgerstream.backend.exception.InvalidOrderStatusTransitionException;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.Side;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.model.order.Order;
 import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.model.order.OrderStatus;
 import com.burgerstream.backend.repository.menu.SideRepository;
 import com.burgerstream.backend.repository.menu.SizeOptionRepository;
 import com.burgerstream.backend.repository.order.OrderItemRepository;
 import com.burgerstream.backend.repository.order.OrderRepository;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import com.burgerstream.backend.service.order.OrderItemView;
+import com.burgerstream.backend.service.order.OrderPage;
 import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.OrderView;
+import com.burgerstream.backend.service.order.PricingEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,13 +31,19 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
-@Import(OrderService.class)
+@Import({OrderService.class, PricingEngine.class, MenuSnapshotCache.class, KitchenEventBroadcaster.class, ActiveOrderBoard.class, SalesRollupService.class, OrderArchiveService.class})
 public class OrderServiceIntegrationTest {
 
     @Autowired
@@ -47,18 +66,19 @@ public class OrderServiceIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        Side fries = new Side();
-        fries.setName("Fries");
-        fries.setBasePrice(BigDecimal.valueOf(25.00));
-        fries.setShareable(Boolean.TRUE);
-        sideRepository.save(fries);
-
         SizeOption large = new SizeOption();
         large.setSizeLabel("Large");
         large.setLabel("French Fries");
         large.setExtraPrice(BigDecimal.valueOf(10.00));
         sizeOptionRepository.save(large);
 
+        Side fries = new Side();
+        fries.setName("Fries");
+        fries.setBasePrice(BigDecimal.valueOf(25.00));
+        fries.setShareable(Boolean.TRUE);
+        fries.setSizeOptions(new HashSet<>(Set.of(large)));
+        sideRepository.save(fries);
+
         item = new OrderItem();
         item.setMenuItem(fries);
         item.setSizeOption(large);
@@ -84,6 +104,34 @@ public class OrderServiceIntegrationTest {
         assertThat(savedItem.getMenuItem().getName()).isEqualTo("Fries");
     }
 
+    @Test
+    void createOrder_withClientDate_isPlacedNow(){
+        LocalDateTime before = LocalDateTime.now();
+        order.setDate(LocalDateTime.of(2020, 1, 1, 12, 0));
+
+        Order savedOrder = orderService.createOrder(order);
+
+        assertThat(savedOrder.getDate()).isAfterOrEqualTo(before);
+    }
+
+    @Test
+    void createOrder_withClientReference_savesItWithoutOne(){
+        order.setReference("chosen-by-client");
+
+        Order savedOrder = orderService.createOrder(order);
+
+        assertThat(savedOrder.getReference()).isNull();
+        assertThat(orderRepository.findByReference("chosen-by-client")).isEmpty();
+    }
+
+    @Test
+    void order_referenceInRequestJson_isIgnored() throws Exception {
+        Order parsed = new ObjectMapper().readValue("""
+                {"customerName": "John Doe", "customerEmail": "John@Doe.com", "reference": "chosen-by-client"}""", Order.class);
+
+        assertThat(parsed.getReference()).isNull();
+    }
+
     @Test
     void createOrder_withEmptyItems_throwsInvalidOrderException(){
         order = new Order();
@@ -180,11 +228,11 @@ public class OrderServiceIntegrationTest {
 
         order = orderRepository.save(order);
 
-        List<OrderItem> orderItems = orderService.getOrderItemsFromOrder(order.getId());
+        List<OrderItemView> orderItems = orderService.getOrderItemsFromOrder(order.getId());
 
         assertThat(orderItems).hasSize(2);
-        assertThat(orderItems.getFirst().getMenuItem().getName()).isEqualTo("Fries");
-        assertThat(orderItems.get(1).getMenuItem().getName()).isEqualTo("Donut");
+        assertThat(orderItems.getFirst().menuItemName()).isEqualTo("Fries");
+        assertThat(orderItems.get(1).menuItemName()).isEqualTo("Donut");
     }
 
     @Test
@@ -193,4 +241,103 @@ public class OrderServiceIntegrationTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("does not exist");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getOrderPage_followingCursors_returnsEveryOrderOnceNewestFirst(){
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            Order pagedOrder = new Order();
+            pagedOrder.setCustomerName("Customer " + i);
+            pagedOrder.setCustomerEmail("customer" + i + "@example.com");
+            // Two orders share a timestamp so the id breaks the tie.
+            pagedOrder.setDate(now.minusMinutes(i / 2));
+            orderRepository.save(pagedOrder);
+        }
+
+        OrderPage firstPage = orderService.getOrderPage(null, 2);
+        OrderPage secondPage = orderService.getOrderPage(firstPage.nextCursor(), 2);
+        OrderPage lastPage = orderService.getOrderPage(secondPage.nextCursor(), 2);
+
+        List<OrderView> allOrders = new ArrayList<>();
+        allOrders.addAll(firstPage.orders());
+        allOrders.addAll(secondPage.orders());
+        allOrders.addAll(lastPage.orders());
+
+        assertThat(firstPage.orders()).hasSize(2);
+        assertThat(secondPage.orders()).hasSize(2);
+        assertThat(lastPage.orders()).hasSize(1);
+        assertThat(lastPage.nextCursor()).isNull();
+        assertThat(allOrders).extracting(OrderView::id).doesNotHaveDuplicates().hasSize(5);
+        assertThat(allOrders).extracting(OrderView::date).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void getOrderPage_invalidCursor_throwsInvalidCursorException(){
+        assertThatThrownBy( () -> orderService.getOrderPage("not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void streamAllOrders_visitsEveryOrder(){
+        orderService.createOrder(order);
+
+        List<OrderView> streamedOrders = new ArrayList<>();
+        orderService.streamAllOrders(streamedOrders::add);
+
+        assertThat(streamedOrders).singleElement().satisfies(streamedOrder -> {
+            assertThat(streamedOrder.id()).isEqualTo(order.getId());
+            assertThat(streamedOrder.orderItems()).extracting(OrderItemView::menuItemName).containsExactly("Fries");
+        });
+    }
+
+    @Test
+    void streamAllOrders_moreOrdersThanOneChunk_visitsEveryOrderOnceNewestFirst(){
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        int orderCount = OrderService.MAX_PAGE_SIZE + 1;
+        for (int i = 0; i < orderCount; i++) {
+            Order streamedOrder = new Order();
+            streamedOrder.setCustomerName("Customer " + i);
+            streamedOrder.setCustomerEmail("customer" + i + "@example.com");
+            // Orders share timestamps, also across the chunk boundary, so the id breaks the tie.
+            streamedOrder.setDate(now.minusMinutes(i / 3));
+            orderRepository.save(streamedOrder);
+        }
+        order.setDate(now.minusDays(1));
+        orderRepository.save(order);
+
+        List<OrderView> streamedOrders = new ArrayList<>();
+        orderService.streamAllOrders(streamedOrders::add);
+
+        assertThat(streamedOrders).extracting(OrderView::id).doesNotHaveDuplicates().hasSize(orderCount + 1);
+        assertThat(streamedOrders).extracting(OrderView::date).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(streamedOrders.getLast().orderItems()).extracting(OrderItemView::menuItemName).containsExactly("Fries");
+    }
+
+    @Test
+    void advanceStatus_stepByStep_movesOrderThroughLifecycle(){
+        Order savedOrder = orderService.createOrder(order);
+        assertThat(savedOrder.getStatus()).isEqualTo(OrderStatus.PLACED);
+
+        orderService.advanceStatus(savedOrder.getId(), OrderStatus.PREPARING);
+        orderService.advanceStatus(savedOrder.getId(), OrderStatus.READY);
+        Order collected = orderService.advanceStatus(savedOrder.getId(), OrderStatus.COLLECTED);
+
+        assertThat(collected.getStatus()).isEqualTo(OrderStatus.COLLECTED);
+        assertThat(orderRepository.findStatusById(savedOrder.getId())).contains(OrderStatus.COLLECTED);
+    }
+
+    @Test
+    void advanceStatus_skippingAStep_throwsInvalidOrderStatusTransitionException(){
+        Order savedOrder = orderService.createOrder(order);
+
+        assertThatThrownBy( () -> orderService.advanceStatus(savedOrder.getId(), OrderStatus.READY))
+                .isInstanceOf(InvalidOrderStatusTransitionException.class);
+        assertThat(orderRepository.findStatusById(savedOrder.getId())).contains(OrderStatus.PLACED);
+    }
+
+    @Test
+    void advanceStatus_invalidId_throwsResourceNotFoundException(){
+        assertThatThrownBy( () -> orderService.advanceStatus(999L, OrderStatus.PREPARING))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.service.order.OrderIngestRecord;
+import com.burgerstream.backend.service.order.OrderWriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderWriteAheadLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readPending_afterRestart_returnsOnlyOrdersWithoutDoneLine(){
+        Path walPath = tempDir.resolve("orders.wal");
+
+        try (OrderWriteAheadLog wal = new OrderWriteAheadLog(walPath)) {
+            wal.append(record("a"));
+            wal.append(record("b"));
+            wal.append(record("c"));
+            wal.markDone(List.of("a"));
+        }
+
+        try (OrderWriteAheadLog wal = new OrderWriteAheadLog(walPath)) {
+            List<OrderIngestRecord> pending = wal.readPending();
+
+            assertThat(pending).extracting(OrderIngestRecord::reference).containsExactly("b", "c");
+            assertThat(pending.getFirst().items()).hasSize(1);
+            assertThat(pending.getFirst().items().getFirst().itemEndPrice()).isEqualByComparingTo("70.00");
+        }
+    }
+
+    @Test
+    void markDone_lastOpenOrder_truncatesLog() throws IOException {
+        Path walPath = tempDir.resolve("orders.wal");
+
+        try (OrderWriteAheadLog wal = new OrderWriteAheadLog(walPath)) {
+            wal.append(record("a"));
+            wal.markDone(List.of("a"));
+        }
+
+        assertThat(Files.size(walPath)).isZero();
+    }
+
+    @Test
+    void readPending_tornLastLine_isIgnored() throws IOException {
+        Path walPath = tempDir.resolve("orders.wal");
+
+        try (OrderWriteAheadLog wal = new OrderWriteAheadLog(walPath)) {
+            wal.append(record("a"));
+        }
+        Files.writeString(walPath, "{\"type\":\"ORDER\",\"ord", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (OrderWriteAheadLog wal = new OrderWriteAheadLog(walPath)) {
+            assertThat(wal.readPending()).extracting(OrderIngestRecord::reference).containsExactly("a");
+        }
+    }
+
+    private OrderIngestRecord record(String reference){
+        return new OrderIngestRecord(
+                reference,
+                LocalDateTime.now(),
+                "John Doe",
+                "John@Doe.com",
+                BigDecimal.valueOf(70.00),
+                List.of(new OrderIngestRecord.Item(1L, 2L, 2, BigDecimal.valueOf(70.00))));
+    }
+}
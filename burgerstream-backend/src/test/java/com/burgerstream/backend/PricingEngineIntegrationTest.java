@@ -0,0 +1,129 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.exception.InvalidOrderException;
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.menu.BurgerRepository;
+import com.burgerstream.backend.repository.menu.DrinkRepository;
+import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.PricingEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({PricingEngine.class, MenuSnapshotCache.class})
+public class PricingEngineIntegrationTest {
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private BurgerRepository burgerRepository;
+
+    @Autowired
+    private DrinkRepository drinkRepository;
+
+    @Autowired
+    private SizeOptionRepository sizeOptionRepository;
+
+    private Burger burger;
+    private Drink cola;
+    private SizeOption medium;
+    private SizeOption large;
+
+    @BeforeEach
+    void setUp(){
+        medium = new SizeOption();
+        medium.setLabel("Cold Beverage");
+        medium.setSizeLabel("Medium");
+        medium.setExtraPrice(BigDecimal.valueOf(5.00));
+        sizeOptionRepository.save(medium);
+
+        large = new SizeOption();
+        large.setLabel("Cold Beverage");
+        large.setSizeLabel("Large");
+        large.setExtraPrice(BigDecimal.valueOf(10.00));
+        sizeOptionRepository.save(large);
+
+        burger = new Burger();
+        burger.setName("Classic Burger");
+        burger.setBasePrice(BigDecimal.valueOf(75.00));
+        burgerRepository.save(burger);
+
+        cola = new Drink();
+        cola.setName("Cola");
+        cola.setBasePrice(BigDecimal.valueOf(20.00));
+        cola.setSizeOptions(new HashSet<>(Set.of(medium)));
+        drinkRepository.save(cola);
+    }
+
+    @Test
+    void price_overwritesClientPricesWithMenuPrices(){
+        Order order = new Order();
+        order.setOrderEndPrice(BigDecimal.ONE);
+        order.getOrderItems().add(item(burger.getId(), null, 2, BigDecimal.ONE));
+        order.getOrderItems().add(item(cola.getId(), medium.getId(), 3, BigDecimal.ONE));
+
+        pricingEngine.price(order);
+
+        assertThat(order.getOrderItems().get(0).getItemEndPrice()).isEqualByComparingTo("150.00");
+        assertThat(order.getOrderItems().get(1).getItemEndPrice()).isEqualByComparingTo("75.00");
+        assertThat(order.getOrderEndPrice()).isEqualByComparingTo("225.00");
+        assertThat(order.getOrderItems().get(1).getMenuItem()).isEqualTo(cola);
+        assertThat(order.getOrderItems().get(1).getSizeOption()).isEqualTo(medium);
+    }
+
+    @Test
+    void price_sizeNotOfferedForItem_throwsInvalidOrderException(){
+        Order order = new Order();
+        order.getOrderItems().add(item(cola.getId(), large.getId(), 1, null));
+
+        assertThatThrownBy(() -> pricingEngine.price(order))
+                .isInstanceOf(InvalidOrderException.class)
+                .hasMessageContaining("not available");
+    }
+
+    @Test
+    void price_unknownMenuItem_throwsInvalidOrderException(){
+        Order order = new Order();
+        order.getOrderItems().add(item(999L, null, 1, null));
+
+        assertThatThrownBy(() -> pricingEngine.price(order))
+                .isInstanceOf(InvalidOrderException.class)
+                .hasMessageContaining("does not exist");
+    }
+
+    @Test
+    void price_zeroAmount_throwsInvalidOrderException(){
+        Order order = new Order();
+        order.getOrderItems().add(item(burger.getId(), null, 0, null));
+
+        assertThatThrownBy(() -> pricingEngine.price(order))
+                .isInstanceOf(InvalidOrderException.class);
+    }
+
+    private OrderItem item(Long menuItemId, Long sizeOptionId, Integer amount, BigDecimal clientPrice){
+        OrderItem item = new OrderItem();
+        if (clientPrice != null) {
+            item.setItemEndPrice(clientPrice);
+        }
+        item.setAmount(amount);
+        item.setMenuItemId(menuItemId);
+        item.setSizeOptionId(sizeOptionId);
+        return item;
+    }
+}
@@ -0,0 +1,81 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two in-memory H2 databases stand in for the MySQL primary and its replica, each knows which one it is.
+public class ReplicaRoutingDataSourceTest {
+
+    private final DriverManagerDataSource primary = h2("routing_primary");
+    private final DriverManagerDataSource replica = h2("routing_replica");
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp(){
+        prepare(primary, "primary");
+        prepare(replica, "replica");
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), "select seconds from replica_lag", 5);
+        routingDataSource.checkReplicas();
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromReplica(){
+        assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(1);
+        assertThat(databaseSeenBy(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransaction_staysOnPrimary(){
+        assertThat(databaseSeenBy(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void replicaLaggingTooFarBehind_readsFallBackToPrimaryUntilItCatchesUp(){
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 30");
+        routingDataSource.checkReplicas();
+
+        assertThat(routingDataSource.getHealthyReplicaCount()).isZero();
+        assertThat(databaseSeenBy(true)).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 1");
+        routingDataSource.checkReplicas();
+
+        assertThat(databaseSeenBy(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_insideReadFromPrimary_readsFromPrimary(){
+        assertThat(ReplicaRoutingDataSource.readFromPrimary(() -> databaseSeenBy(true))).isEqualTo("primary");
+        assertThat(databaseSeenBy(true)).isEqualTo("replica");
+    }
+
+    private String databaseSeenBy(boolean readOnly){
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routingDataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(routingDataSource).queryForObject("select name from database_role", String.class));
+    }
+
+    private static void prepare(DriverManagerDataSource dataSource, String role){
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists database_role (name varchar(20))");
+        jdbcTemplate.execute("create table if not exists replica_lag (seconds int)");
+        jdbcTemplate.update("delete from database_role");
+        jdbcTemplate.update("delete from replica_lag");
+        jdbcTemplate.update("insert into database_role (name) values (?)", role);
+        jdbcTemplate.update("insert into replica_lag (seconds) values (0)");
+    }
+
+    private static DriverManagerDataSource h2(String name){
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,205 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.analytics.RollupGranularity;
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.Drink;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.menu.SizeOption;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.menu.BurgerRepository;
+import com.burgerstream.backend.repository.menu.DrinkRepository;
+import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.burgerstream.backend.service.analytics.RevenueBucket;
+import com.burgerstream.backend.service.analytics.SalesAnalyticsService;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.analytics.SizeMixEntry;
+import com.burgerstream.backend.service.analytics.TopSellingItem;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.PricingEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({OrderService.class, PricingEngine.class, MenuSnapshotCache.class, KitchenEventBroadcaster.class, ActiveOrderBoard.class,
+        SalesRollupService.class, SalesAnalyticsService.class, OrderArchiveService.class})
+public class SalesAnalyticsIntegrationTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private BurgerRepository burgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DrinkRepository drinkRepository;
+
+    @Autowired
+    private SizeOptionRepository sizeOptionRepository;
+
+    private Burger burger;
+    private Drink cola;
+    private SizeOption small;
+    private SizeOption large;
+
+    @BeforeEach
+    void setUp(){
+        small = sizeOption("Small", 0.00);
+        large = sizeOption("Large", 10.00);
+
+        burger = new Burger();
+        burger.setName("Classic Burger");
+        burger.setBasePrice(BigDecimal.valueOf(75.00));
+        burgerRepository.save(burger);
+
+        cola = new Drink();
+        cola.setName("Cola");
+        cola.setBasePrice(BigDecimal.valueOf(20.00));
+        cola.setSizeOptions(new HashSet<>(Set.of(small, large)));
+        drinkRepository.save(cola);
+    }
+
+    @Test
+    void getRevenue_perHour_sumsOrdersInEachBucket(){
+        createOrder(NOON.plusMinutes(5), item(burger, null, 1));
+        createOrder(NOON.plusMinutes(40), item(burger, null, 2));
+        createOrder(NOON.plusMinutes(70), item(cola, small, 1));
+
+        List<RevenueBucket> revenue = salesAnalyticsService.getRevenue(RollupGranularity.HOUR, NOON, NOON.plusHours(2));
+
+        assertThat(revenue).extracting(RevenueBucket::bucketStart).containsExactly(NOON, NOON.plusHours(1));
+        assertThat(revenue).extracting(RevenueBucket::orderCount).containsExactly(2L, 1L);
+        assertThat(revenue.get(0).revenue()).isEqualByComparingTo("225.00");
+        assertThat(revenue.get(1).revenue()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void getRevenue_perMinute_keepsMinutesApart(){
+        createOrder(NOON.plusMinutes(5), item(burger, null, 1));
+        createOrder(NOON.plusMinutes(5).plusSeconds(30), item(burger, null, 1));
+        createOrder(NOON.plusMinutes(6), item(burger, null, 1));
+
+        List<RevenueBucket> revenue = salesAnalyticsService.getRevenue(RollupGranularity.MINUTE, NOON, NOON.plusHours(1));
+
+        assertThat(revenue).extracting(RevenueBucket::orderCount).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void deleteOrder_subtractsItFromTheRollups(){
+        createOrder(NOON.plusMinutes(5), item(burger, null, 1));
+        Order deleted = createOrder(NOON.plusMinutes(10), item(burger, null, 3));
+
+        orderService.deleteOrder(deleted.getId());
+
+        List<RevenueBucket> revenue = salesAnalyticsService.getRevenue(RollupGranularity.HOUR, NOON, NOON.plusHours(1));
+        assertThat(revenue).singleElement().satisfies(bucket -> {
+            assertThat(bucket.orderCount()).isEqualTo(1L);
+            assertThat(bucket.revenue()).isEqualByComparingTo("75.00");
+        });
+    }
+
+    @Test
+    void getTopSellingItems_ordersByUnitsSold(){
+        createOrder(NOON.plusMinutes(5), item(burger, null, 1), item(cola, small, 2));
+        createOrder(NOON.plusMinutes(10), item(cola, large, 3));
+
+        List<TopSellingItem> topItems = salesAnalyticsService.getTopSellingItems(NOON, NOON.plusHours(1), 10);
+
+        assertThat(topItems).extracting(TopSellingItem::name).containsExactly("Cola", "Classic Burger");
+        assertThat(topItems).extracting(TopSellingItem::quantity).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void getSizeMix_givesShareOfEachSize(){
+        createOrder(NOON.plusMinutes(5), item(cola, small, 1));
+        createOrder(NOON.plusMinutes(10), item(cola, large, 3));
+
+        List<SizeMixEntry> mix = salesAnalyticsService.getSizeMix(NOON, NOON.plusHours(1));
+
+        assertThat(mix).extracting(SizeMixEntry::sizeLabel).containsExactlyInAnyOrder("Small", "Large");
+        assertThat(mix).filteredOn(entry -> "Large".equals(entry.sizeLabel()))
+                .singleElement()
+                .satisfies(entry -> assertThat(entry.share()).isEqualTo(0.75));
+    }
+
+    @Test
+    void rebuildBefore_recomputesRollupsFromOrderHistory(){
+        createOrder(NOON.plusMinutes(5), item(burger, null, 1));
+        createOrder(NOON.plusMinutes(10), item(burger, null, 1));
+
+        salesRollupService.rebuildBefore(NOON.plusHours(1));
+
+        List<RevenueBucket> revenue = salesAnalyticsService.getRevenue(RollupGranularity.HOUR, NOON, NOON.plusHours(1));
+        assertThat(revenue).singleElement().satisfies(bucket -> assertThat(bucket.orderCount()).isEqualTo(2L));
+    }
+
+    @Test
+    void rebuildBefore_leavesTheHourOfTheCutoffAndLaterToTheLiveRollups(){
+        createOrder(NOON.plusMinutes(5), item(burger, null, 1));
+        createOrder(NOON.plusHours(1).plusMinutes(5), item(burger, null, 1));
+        jdbcTemplate.update("update order_rollups set order_count = 7 where bucket_start >= ?", NOON.plusHours(1));
+
+        // A cutoff inside an hour rebuilds up to the start of that hour only.
+        salesRollupService.rebuildBefore(NOON.plusHours(1).plusMinutes(30));
+
+        assertThat(salesAnalyticsService.getRevenue(RollupGranularity.HOUR, NOON, NOON.plusHours(2)))
+                .extracting(RevenueBucket::orderCount)
+                .containsExactly(1L, 7L);
+    }
+
+    // createOrder places an order now, the date is set after pricing so the orders land in fixed buckets.
+    private Order createOrder(LocalDateTime date, OrderItem... items){
+        Order order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        for (OrderItem item : items){
+            order.getOrderItems().add(item);
+        }
+        orderService.prepareNewOrder(order);
+        order.setDate(date);
+        return orderService.saveNewOrders(List.of(order)).getFirst();
+    }
+
+    private OrderItem item(MenuItem menuItem, SizeOption sizeOption, int amount){
+        OrderItem item = new OrderItem();
+        item.setMenuItemId(menuItem.getId());
+        item.setSizeOptionId(sizeOption == null ? null : sizeOption.getId());
+        item.setAmount(amount);
+        return item;
+    }
+
+    private SizeOption sizeOption(String sizeLabel, double extraPrice){
+        SizeOption sizeOption = new SizeOption();
+        sizeOption.setLabel("Cold Beverage");
+        sizeOption.setSizeLabel(sizeLabel);
+        sizeOption.setExtraPrice(BigDecimal.valueOf(extraPrice));
+        return sizeOptionRepository.save(sizeOption);
+    }
+}
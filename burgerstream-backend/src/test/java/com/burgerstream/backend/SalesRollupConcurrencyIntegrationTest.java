@@ -0,0 +1,212 @@
+package com.burgerstream.backend;
+
+import com.burgerstream.backend.model.analytics.RollupGranularity;
+import com.burgerstream.backend.model.menu.Burger;
+import com.burgerstream.backend.model.menu.MenuItem;
+import com.burgerstream.backend.model.order.Order;
+import com.burgerstream.backend.model.order.OrderItem;
+import com.burgerstream.backend.repository.menu.BurgerRepository;
+import com.burgerstream.backend.service.analytics.RevenueBucket;
+import com.burgerstream.backend.service.analytics.SalesAnalyticsService;
+import com.burgerstream.backend.service.analytics.SalesRollupService;
+import com.burgerstream.backend.service.analytics.TopSellingItem;
+import com.burgerstream.backend.service.kitchen.KitchenEventBroadcaster;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
+import com.burgerstream.backend.service.order.ActiveOrderBoard;
+import com.burgerstream.backend.service.order.OrderArchiveService;
+import com.burgerstream.backend.service.order.OrderService;
+import com.burgerstream.backend.service.order.PricingEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Orders are created from several threads in their own committed transactions, all in the same minute and with
+// overlapping items, so their rollup upserts compete for the same rows.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderService.class, PricingEngine.class, MenuSnapshotCache.class, KitchenEventBroadcaster.class, ActiveOrderBoard.class,
+        SalesRollupService.class, SalesAnalyticsService.class, OrderArchiveService.class})
+public class SalesRollupConcurrencyIntegrationTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final int THREADS = 8;
+    private static final int ORDERS_PER_THREAD = 25;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private BurgerRepository burgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Burger> burgers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp(){
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < 4; i++){
+            Burger burger = new Burger();
+            burger.setName("Burger " + i);
+            burger.setBasePrice(BigDecimal.valueOf(50.00));
+            burgers.add(burgerRepository.save(burger));
+        }
+    }
+
+    @AfterEach
+    void tearDown(){
+        jdbcTemplate.update("delete from order_items");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from order_rollups");
+        jdbcTemplate.update("delete from item_rollups");
+        burgerRepository.deleteAll(burgers);
+    }
+
+    @Test
+    void createOrder_concurrentOrdersWithOverlappingItems_allCommitAndAddUp() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++){
+                Random random = new Random(thread);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++){
+                        // Every order has all four burgers in its own order, so the item rows always overlap.
+                        List<Burger> items = new ArrayList<>(burgers);
+                        Collections.shuffle(items, random);
+                        createOrder(NOON.plusSeconds(random.nextInt(60)), items);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results){
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int orderCount = THREADS * ORDERS_PER_THREAD;
+        List<RevenueBucket> revenue = salesAnalyticsService.getRevenue(RollupGranularity.MINUTE, NOON, NOON.plusMinutes(1));
+        assertThat(revenue).singleElement().satisfies(bucket -> {
+            assertThat(bucket.orderCount()).isEqualTo(orderCount);
+            assertThat(bucket.revenue()).isEqualByComparingTo(BigDecimal.valueOf(200L * orderCount));
+        });
+        assertThat(salesAnalyticsService.getTopSellingItems(NOON, NOON.plusMinutes(1), 10))
+                .extracting(TopSellingItem::quantity)
+                .containsOnly((long) orderCount);
+    }
+
+    @Test
+    void rebuildBefore_whileOrdersComeIn_rebuildsTheHistoryAndKeepsEveryNewOrder() throws Exception {
+        int historyOrders = 20;
+        for (int i = 0; i < historyOrders; i++){
+            createOrder(NOON.plusMinutes(i), burgers);
+        }
+        jdbcTemplate.update("delete from order_rollups");
+        jdbcTemplate.update("delete from item_rollups");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean ordering = new AtomicBoolean(true);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++){
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++){
+                        orderService.createOrder(newOrder(burgers));
+                    }
+                    return null;
+                }));
+            }
+            Future<Integer> rebuilds = executor.submit(() -> {
+                start.await();
+                int runs = 0;
+                while (ordering.get() || runs == 0){
+                    salesRollupService.rebuildBefore(LocalDateTime.now().minusHours(1));
+                    runs++;
+                }
+                return runs;
+            });
+            start.countDown();
+            for (Future<?> result : results){
+                result.get(60, TimeUnit.SECONDS);
+            }
+            ordering.set(false);
+            assertThat(rebuilds.get(60, TimeUnit.SECONDS)).isPositive();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(salesAnalyticsService.getRevenue(RollupGranularity.HOUR, NOON, NOON.plusHours(1)))
+                .singleElement()
+                .satisfies(bucket -> assertThat(bucket.orderCount()).isEqualTo(historyOrders));
+        long liveOrders = salesAnalyticsService.getRevenue(RollupGranularity.HOUR, NOON.plusHours(1), LocalDateTime.now().plusHours(1))
+                .stream()
+                .mapToLong(RevenueBucket::orderCount)
+                .sum();
+        assertThat(liveOrders).isEqualTo((long) THREADS * ORDERS_PER_THREAD);
+    }
+
+    private void createOrder(LocalDateTime date, List<? extends MenuItem> menuItems){
+        Order order = newOrder(menuItems);
+        // Like createOrder, but dated after pricing so every order lands in the same minute.
+        transactionTemplate.executeWithoutResult(status -> {
+            orderService.prepareNewOrder(order);
+            order.setDate(date);
+            orderService.saveNewOrders(List.of(order));
+        });
+    }
+
+    private Order newOrder(List<? extends MenuItem> menuItems){
+        Order order = new Order();
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("John@Doe.com");
+        for (MenuItem menuItem : menuItems){
+            OrderItem item = new OrderItem();
+            item.setMenuItemId(menuItem.getId());
+            item.setAmount(1);
+            order.getOrderItems().add(item);
+        }
+        return order;
+    }
+}
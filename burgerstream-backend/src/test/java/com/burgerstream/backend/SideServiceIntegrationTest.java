@@ -1,11 +1,13 @@
 package com.burgerstream.backend;
 
 import com.burgerstream.backend.component.MenuItemValidator;
+import com.burgerstream.backend.component.OptimisticLockRetry;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.Side;
 import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.repository.menu.SideRepository;
 import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
 import com.burgerstream.backend.service.menu.SideService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
-@Import({SideService.class, MenuItemValidator.class})
+@Import({SideService.class, MenuItemValidator.class, MenuSnapshotCache.class, OptimisticLockRetry.class})
 public class SideServiceIntegrationTest {
     
     @Autowired
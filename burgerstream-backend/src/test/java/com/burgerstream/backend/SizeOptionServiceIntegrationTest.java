@@ -1,5 +1,6 @@
 package com.burgerstream.backend;
 
+import com.burgerstream.backend.component.OptimisticLockRetry;
 import com.burgerstream.backend.exception.InvalidSizeOptionException;
 import com.burgerstream.backend.exception.ResourceNotFoundException;
 import com.burgerstream.backend.model.menu.Drink;
@@ -8,6 +9,7 @@ import com.burgerstream.backend.model.menu.SizeOption;
 import com.burgerstream.backend.repository.menu.DrinkRepository;
 import com.burgerstream.backend.repository.menu.SideRepository;
 import com.burgerstream.backend.repository.menu.SizeOptionRepository;
+import com.burgerstream.backend.service.menu.MenuSnapshotCache;
 import com.burgerstream.backend.service.menu.SizeOptionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,9 +24,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @DataJpaTest
-@Import(SizeOptionService.class)
+@Import({SizeOptionService.class, MenuSnapshotCache.class, OptimisticLockRetry.class})
 public class SizeOptionServiceIntegrationTest {
 
     @Autowired
@@ -175,6 +178,34 @@ public class SizeOptionServiceIntegrationTest {
         }
     }
 
+    @Test
+    void assignSizeToDrinks_countsOnlyDrinksThatGotTheSize(){
+        size = sizeOptionRepository.save(size);
+
+        Drink withSize = new Drink();
+        withSize.setName("Soda Pop");
+        withSize.setBasePrice(BigDecimal.valueOf(25.00));
+        withSize.getSizeOptions().add(size);
+        drinkRepository.save(withSize);
+
+        Drink withoutSize = new Drink();
+        withoutSize.setName("Fizzy Drink");
+        withoutSize.setBasePrice(BigDecimal.valueOf(25.00));
+        drinkRepository.save(withoutSize);
+
+        Side notADrink = new Side();
+        notADrink.setName("French Fries");
+        notADrink.setBasePrice(BigDecimal.valueOf(25.00));
+        sideRepository.save(notADrink);
+
+        Map<String, Integer> response = sizeOptionService.assignSizeToDrinks(size.getId(),
+                List.of(withSize.getId(), withoutSize.getId(), notADrink.getId(), 999L));
+
+        assertThat(response).containsEntry("Assigned", 1);
+        assertThat(drinkRepository.findAll()).allSatisfy(drink -> assertThat(drink.getSizeOptions()).containsExactly(size));
+        assertThat(sideRepository.findById(notADrink.getId()).orElseThrow().getSizeOptions()).isEmpty();
+    }
+
     @Test
     void assignSizeToDrinks_withInvalidSizeId_throwsResourceNotFoundException() {
         List<Long> drinkIds = List.of(1L, 2L);
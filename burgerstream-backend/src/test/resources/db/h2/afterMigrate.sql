@@ -0,0 +1,4 @@
+-- Flyway callback for FlywayMigrationIntegrationTest, runs after the migrations on the H2 test database only.
+-- H2 in MySQL mode reports LONGTEXT as VARCHAR, Hibernate validates a @Lob string as a CLOB. On MySQL the column is
+-- the LONGTEXT Hibernate expects.
+ALTER TABLE order_idempotency_keys ALTER COLUMN response_body CLOB;
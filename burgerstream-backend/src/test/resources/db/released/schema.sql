@@ -0,0 +1,27 @@
+-- A database of the last release before Flyway, with the tables ddl-auto=update created for its entities and a few
+-- rows. FlywayUpgradeIntegrationTest migrates it.
+create table menu_items (base_price decimal(10,2) not null, id bigint not null auto_increment, description varchar(255), image_url varchar(255), name varchar(255) not null, primary key (id)) engine=InnoDB;
+create table burgers (is_chicken bit, is_lactose_free bit, is_vegan bit, id bigint not null, primary key (id)) engine=InnoDB;
+create table drinks (is_carbonated bit, is_lactose_free bit, id bigint not null, primary key (id)) engine=InnoDB;
+create table sides (is_shareable bit, id bigint not null, primary key (id)) engine=InnoDB;
+create table size_options (extra_price decimal(10,2) not null, id bigint not null auto_increment, label varchar(255) not null, size_label varchar(255) not null, primary key (id)) engine=InnoDB;
+create table drink_size_options (menu_item_id bigint not null, size_option_id bigint not null, primary key (menu_item_id, size_option_id)) engine=InnoDB;
+create table side_size_options (menu_item_id bigint not null, size_option_id bigint not null, primary key (menu_item_id, size_option_id)) engine=InnoDB;
+create table orders (order_end_price decimal(10,2) not null, date datetime(6) not null, id bigint not null auto_increment, customer_email varchar(255) not null, customer_name varchar(255) not null, primary key (id)) engine=InnoDB;
+create table order_items (amount integer, item_end_price decimal(10,2) not null, id bigint not null auto_increment, menu_item_id bigint not null, order_id bigint not null, size_option_id bigint, primary key (id)) engine=InnoDB;
+alter table burgers add constraint FKburgers_menu_items foreign key (id) references menu_items (id);
+alter table drinks add constraint FKdrinks_menu_items foreign key (id) references menu_items (id);
+alter table sides add constraint FKsides_menu_items foreign key (id) references menu_items (id);
+alter table drink_size_options add constraint FKdrink_size_options_size foreign key (size_option_id) references size_options (id);
+alter table drink_size_options add constraint FKdrink_size_options_drink foreign key (menu_item_id) references drinks (id);
+alter table side_size_options add constraint FKside_size_options_size foreign key (size_option_id) references size_options (id);
+alter table side_size_options add constraint FKside_size_options_side foreign key (menu_item_id) references sides (id);
+alter table order_items add constraint FKorder_items_menu_items foreign key (menu_item_id) references menu_items (id);
+alter table order_items add constraint FKorder_items_orders foreign key (order_id) references orders (id);
+alter table order_items add constraint FKorder_items_size_options foreign key (size_option_id) references size_options (id);
+
+insert into menu_items (id, name, base_price) values (7, 'Classic Burger', 89.00);
+insert into burgers (id, is_vegan, is_chicken, is_lactose_free) values (7, 0, 0, 0);
+insert into size_options (id, label, size_label, extra_price) values (3, 'Drink', 'Large', 10.00);
+insert into orders (id, date, order_end_price, customer_name, customer_email) values (12, '2024-05-01 12:00:00', 178.00, 'John Doe', 'John@Doe.com');
+insert into order_items (id, order_id, menu_item_id, amount, item_end_price) values (40, 12, 7, 2, 178.00);